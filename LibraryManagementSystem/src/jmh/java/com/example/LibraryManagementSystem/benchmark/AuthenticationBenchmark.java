@@ -0,0 +1,92 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.security.TokenService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating a request. {@code anonymousRequest} and {@code bearerTokenRequest} are full round-trips
+ * to {@code /books/{id}} without and with a token, so their difference is what the security chain adds;
+ * {@code verifyToken} and {@code bcryptMatches} compare the per-request token check with the BCrypt comparison
+ * that per-request password authentication would need.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class AuthenticationBenchmark {
+
+    private HttpClient client;
+    private String baseUrl;
+    private int books;
+    private TokenService tokenService;
+    private PasswordEncoder passwordEncoder;
+    private String token;
+    private String passwordHash;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        client = HttpClient.newHttpClient();
+        baseUrl = library.baseUrl;
+        books = library.books;
+        tokenService = library.bean(TokenService.class);
+        passwordEncoder = library.bean(PasswordEncoder.class);
+        token = tokenService.issue(1L).token();
+        passwordHash = passwordEncoder.encode("password1");
+    }
+
+    @Benchmark
+    public String anonymousRequest() throws IOException, InterruptedException {
+        return get(HttpRequest.newBuilder(bookUri()));
+    }
+
+    @Benchmark
+    public String bearerTokenRequest() throws IOException, InterruptedException {
+        return get(HttpRequest.newBuilder(bookUri()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    @Benchmark
+    public Optional<Long> verifyToken() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches("password1", passwordHash);
+    }
+
+    private URI bookUri() {
+        return URI.create(baseUrl + "/books/" + (1 + ThreadLocalRandom.current().nextInt(books)));
+    }
+
+    private String get(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + request.build().uri() + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
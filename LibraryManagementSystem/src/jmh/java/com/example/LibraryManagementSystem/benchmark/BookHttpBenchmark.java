@@ -0,0 +1,71 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full HTTP round-trips through BookController: routing, service, SQL and JSON serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class BookHttpBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private HttpClient client;
+    private String baseUrl;
+    private int books;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        client = HttpClient.newHttpClient();
+        baseUrl = library.baseUrl;
+        books = library.books;
+    }
+
+    @Benchmark
+    public String getBookById() throws IOException, InterruptedException {
+        return get("/books/" + (1 + ThreadLocalRandom.current().nextInt(books)));
+    }
+
+    @Benchmark
+    public String getAllBooks() throws IOException, InterruptedException {
+        return get("/books?size=" + PAGE_SIZE + "&page=" + ThreadLocalRandom.current().nextInt(Math.max(1, books / PAGE_SIZE)));
+    }
+
+    @Benchmark
+    public String searchBooksByTitle() throws IOException, InterruptedException {
+        return get("/books/search?title=" + SeededLibrary.WORDS[ThreadLocalRandom.current().nextInt(SeededLibrary.WORDS.length)]);
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.dto.AutocompleteView;
+import com.example.LibraryManagementSystem.dto.BookAvailabilityView;
+import com.example.LibraryManagementSystem.search.BookFacetIndex;
+import com.example.LibraryManagementSystem.search.FacetedBooks;
+import com.example.LibraryManagementSystem.search.IsbnMatch;
+import com.example.LibraryManagementSystem.service.BookService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int KIOSK_BATCH = 1000;
+
+    private BookService bookService;
+    private int pages;
+    private int books;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        bookService = library.bean(BookService.class);
+        pages = Math.max(1, library.books / PAGE_SIZE);
+        books = library.books;
+    }
+
+    @Benchmark
+    public List<Book> searchBooksByTitle() {
+        return bookService.searchBooksByTitle(SeededLibrary.WORDS[ThreadLocalRandom.current().nextInt(SeededLibrary.WORDS.length)] + " ");
+    }
+
+    // Drops one letter of a catalogue word to search with a typo.
+    @Benchmark
+    public List<Book> searchBooksFuzzy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String word = SeededLibrary.WORDS[random.nextInt(SeededLibrary.WORDS.length)];
+        int typo = random.nextInt(word.length());
+        return bookService.searchBooksFuzzy(word.substring(0, typo) + word.substring(typo + 1), PAGE_SIZE);
+    }
+
+    // One to four typed characters of a catalogue word, like successive keystrokes.
+    @Benchmark
+    public AutocompleteView autocomplete() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String word = SeededLibrary.WORDS[random.nextInt(SeededLibrary.WORDS.length)];
+        return bookService.autocomplete(word.substring(0, 1 + random.nextInt(Math.min(4, word.length()))), 10);
+    }
+
+    // A scanning station's batch of 100 barcodes of seeded books, typed with a hyphen after the prefix.
+    @Benchmark
+    public List<IsbnMatch> findBooksByIsbnBatch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> isbns = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            isbns.add("978-" + SeededLibrary.isbn(random.nextInt(books)).substring(3));
+        }
+        return bookService.findBooksByIsbn(isbns);
+    }
+
+    @Benchmark
+    public Page<Book> getAllBooksOffsetPage() {
+        return bookService.getAllBooks(PageRequest.of(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Slice<Book> getAllBooksOffsetPageWithoutCount() {
+        return bookService.getBooksSlice(PageRequest.of(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Slice<Book> getAllBooksKeysetPage() {
+        return bookService.getBooksAfter((long) ThreadLocalRandom.current().nextInt(pages) * PAGE_SIZE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public BookAvailabilityView getAvailabilityOfKioskBatch() {
+        List<Long> ids = new ArrayList<>(KIOSK_BATCH);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < KIOSK_BATCH; i++) {
+            ids.add(1L + random.nextInt(books));
+        }
+        return bookService.getAvailability(ids);
+    }
+
+    @Benchmark
+    public FacetedBooks browseBooksUnfiltered() {
+        return bookService.browseBooks(Map.of(), 0L, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public FacetedBooks browseBooksByGenreAndYear() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return bookService.browseBooks(Map.of(
+                BookFacetIndex.Facet.GENRE, Set.of("Genre" + random.nextInt(12)),
+                BookFacetIndex.Facet.YEAR, Set.of(Integer.toString(1950 + random.nextInt(70)))), 0L, PAGE_SIZE);
+    }
+}
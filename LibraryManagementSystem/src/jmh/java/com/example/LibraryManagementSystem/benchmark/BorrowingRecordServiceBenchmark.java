@@ -0,0 +1,47 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.service.BorrowingRecordService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BorrowingRecordServiceBenchmark {
+
+    private BorrowingRecordService borrowingRecordService;
+    private int books;
+    private int customers;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        borrowingRecordService = library.bean(BorrowingRecordService.class);
+        books = library.books;
+        customers = library.customers;
+    }
+
+    @Benchmark
+    public BorrowingRecord createBorrowingRecord() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BorrowingRecord record = new BorrowingRecord();
+        record.setBorrowDate(new Date());
+        record.setReturnDate(new Date());
+        return borrowingRecordService.createBorrowingRecord(1L + random.nextInt(customers), 1L + random.nextInt(books), record);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.exception.CheckoutConflictException;
+import com.example.LibraryManagementSystem.service.BorrowingRecordService;
+import com.example.LibraryManagementSystem.service.LoanResult;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout/return cycles under parallel load. {@code distinctBooks} gives every thread its own slice of
+ * the catalogue, so throughput should grow with {@code -t}; {@code sameBook} has all threads fight over
+ * one copy and reports how many attempts lost the race. {@code basketOfTen} and {@code tenSingleCheckouts}
+ * lend and return the same ten books through the basket API and one by one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(Threads.MAX)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    private static final int BASKET_SIZE = 10;
+
+    private BorrowingRecordService borrowingRecordService;
+    private int customers;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        borrowingRecordService = library.bean(BorrowingRecordService.class);
+        customers = library.customers;
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        long firstBook;
+        long booksPerThread;
+        long next;
+        long customerId;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededLibrary library, BenchmarkParams params, ThreadParams thread) {
+            booksPerThread = Math.max(1, library.books / params.getThreads());
+            firstBook = 1 + (long) thread.getThreadIndex() * booksPerThread;
+            customerId = 1 + thread.getThreadIndex() % library.customers;
+        }
+
+        long nextBook() {
+            return firstBook + (next++ % booksPerThread);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Benchmark
+    public BorrowingRecord distinctBooks(Client client) {
+        BorrowingRecord loan = borrowingRecordService.createBorrowingRecord(client.customerId, client.nextBook(), new BorrowingRecord());
+        return borrowingRecordService.returnBorrowingRecord(loan.getId());
+    }
+
+    @Benchmark
+    public BorrowingRecord sameBook(Client client, Outcomes outcomes) {
+        try {
+            BorrowingRecord loan = borrowingRecordService.createBorrowingRecord(client.customerId, 1L, new BorrowingRecord());
+            return borrowingRecordService.returnBorrowingRecord(loan.getId());
+        } catch (CheckoutConflictException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public List<LoanResult> basketOfTen(Client client) {
+        List<Long> bookIds = new ArrayList<>(BASKET_SIZE);
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            bookIds.add(client.nextBook());
+        }
+        List<Long> loanIds = borrowingRecordService.checkoutBasket(client.customerId, bookIds).stream()
+                .filter(result -> result.status() == LoanResult.Status.OK)
+                .map(result -> result.record().getId())
+                .toList();
+        return borrowingRecordService.returnBasket(loanIds);
+    }
+
+    @Benchmark
+    public List<BorrowingRecord> tenSingleCheckouts(Client client) {
+        List<Long> loanIds = new ArrayList<>(BASKET_SIZE);
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            loanIds.add(borrowingRecordService.createBorrowingRecord(client.customerId, client.nextBook(), new BorrowingRecord()).getId());
+        }
+        return loanIds.stream().map(borrowingRecordService::returnBorrowingRecord).toList();
+    }
+}
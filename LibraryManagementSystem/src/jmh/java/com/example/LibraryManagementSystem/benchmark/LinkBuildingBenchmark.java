@@ -0,0 +1,92 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.controller.BookController;
+import com.example.LibraryManagementSystem.controller.ItemLinks;
+import com.example.LibraryManagementSystem.dto.AuthorView;
+import com.example.LibraryManagementSystem.dto.BookView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Cost of turning a search result into its JSON body. {@code perItemMethodOn} is the way list responses used to
+ * build links, {@code itemLinks} is what the controllers do now; run with {@code -prof gc} to compare allocation
+ * per response alongside the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+    @Param("1000")
+    public int items;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<BookView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AuthorView author = new AuthorView(1L, "Stephen King", new Date(0), "American");
+        views = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            views.add(new BookView(id, "Book " + id, author, String.format("978%010d", id), new Date(0), "Horror", true));
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/books/search");
+        request.setContextPath("/api/v1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] perItemMethodOn() throws JsonProcessingException {
+        List<EntityModel<BookView>> models = new ArrayList<>(views.size());
+        for (BookView view : views) {
+            models.add(EntityModel.of(view,
+                    linkTo(methodOn(BookController.class).getBookById(view.id())).withSelfRel(),
+                    linkTo(methodOn(BookController.class).getAllBooks(0, null, null, null)).withRel("books")));
+        }
+        return objectMapper.writeValueAsBytes(models);
+    }
+
+    @Benchmark
+    public byte[] itemLinks() throws JsonProcessingException {
+        ItemLinks links = ItemLinks.of(BookController.class, methodOn(BookController.class).getAllBooks(0, null, null, null), "books");
+        List<EntityModel<BookView>> models = new ArrayList<>(views.size());
+        for (BookView view : views) {
+            models.add(links.toModel(view, view.id()));
+        }
+        return objectMapper.writeValueAsBytes(models);
+    }
+}
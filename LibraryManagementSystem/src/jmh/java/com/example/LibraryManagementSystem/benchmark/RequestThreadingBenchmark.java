@@ -0,0 +1,74 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursty load on the JDBC-bound list endpoints, for comparing platform-thread and virtual-thread request
+ * execution: run with {@code -p virtualThreads=false,true} on Java 21+. Many more client threads than
+ * pooled connections keep requests queued on the pool, which is where the two modes differ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(256)
+public class RequestThreadingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private HttpClient client;
+    private String baseUrl;
+    private int books;
+    private int borrowings;
+
+    @Setup
+    public void setUp(SeededLibrary library) {
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = library.baseUrl;
+        books = library.books;
+        borrowings = library.borrowings;
+    }
+
+    @Benchmark
+    public String getAllBooks() throws IOException, InterruptedException {
+        return get("/books?size=" + PAGE_SIZE + "&page=" + randomPage(books));
+    }
+
+    @Benchmark
+    public String getAllBorrowingRecords() throws IOException, InterruptedException {
+        return get("/borrowings?size=" + PAGE_SIZE + "&page=" + randomPage(borrowings));
+    }
+
+    private static int randomPage(int rows) {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, rows / PAGE_SIZE));
+    }
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.LibraryManagementSystem.benchmark;
+
+import com.example.LibraryManagementSystem.LibraryManagementSystemApplication;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it with a catalogue of
+ * {@code books} titles and half as many past loans. Shared by all benchmarks; override the size with
+ * {@code -p books=1000000} and the request threading mode with {@code -p virtualThreads=false,true}.
+ */
+@State(Scope.Benchmark)
+public class SeededLibrary {
+
+    static final String[] WORDS = {
+            "shadow", "river", "king", "garden", "winter", "silent", "empire", "night", "stone", "crown",
+            "forest", "mirror", "dragon", "ocean", "secret", "storm", "glass", "hunter", "island", "memory",
+            "fire", "paper", "golden", "broken", "iron", "summer", "wolf", "city", "letter", "moon"
+    };
+
+    private static final int BATCH_SIZE = 5_000;
+
+    @Param({"10000"})
+    public int books;
+
+    @Param({"false"})
+    public boolean virtualThreads;
+
+    public ConfigurableApplicationContext context;
+    public int authors;
+    public int customers;
+    public int borrowings;
+    public String baseUrl;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.flyway.locations=classpath:db/migration",
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.root=WARN")
+                // Passed as an argument because default properties rank below application.properties.
+                .run("--library.auth.enforced=false");
+        authors = Math.max(10, books / 10);
+        customers = Math.max(10, books / 10);
+        borrowings = books / 2;
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(BookSearchIndex.class).rebuild();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/v1";
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        insertInBatches(jdbcTemplate, "INSERT INTO author (author_id, name, birth_date, nationality) VALUES (?, ?, ?, ?)", authors,
+                i -> new Object[]{i + 1, "Author " + word(random) + " " + i, Date.valueOf(LocalDate.of(1900 + i % 100, 1, 1)), "Nation" + i % 20});
+        insertInBatches(jdbcTemplate,
+                "INSERT INTO book (book_id, title, author_id, isbn, publication_date, genre, available, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", books,
+                i -> new Object[]{i + 1, word(random) + " " + word(random) + " " + word(random) + " " + i, 1 + random.nextInt(authors),
+                        isbn(i), Date.valueOf(LocalDate.of(1950 + i % 70, 1, 1)), "Genre" + i % 12, true});
+        insertInBatches(jdbcTemplate, "INSERT INTO customer (id, name, email, address, phone_number, password) VALUES (?, ?, ?, ?, ?, ?)", customers,
+                i -> new Object[]{i + 1, "Customer " + i, "customer" + i + "@example.com", i + " Main St", "+100000" + String.format("%05d", i), "x"});
+        insertInBatches(jdbcTemplate,
+                "INSERT INTO borrowing_record (id, customer_id, book_id, borrow_date, return_date) VALUES (?, ?, ?, ?, ?)", borrowings,
+                i -> new Object[]{i + 1, 1 + random.nextInt(customers), 1 + random.nextInt(books),
+                        Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(i % 300)), Date.valueOf(LocalDate.of(2024, 1, 15).plusDays(i % 300))});
+        jdbcTemplate.execute("ALTER SEQUENCE author_seq RESTART WITH " + (authors + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE book_seq RESTART WITH " + (books + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE customer_seq RESTART WITH " + (customers + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE borrowing_record_seq RESTART WITH " + (borrowings + 1));
+    }
+
+    private static void insertInBatches(JdbcTemplate jdbcTemplate, String sql, int rows, RowSupplier supplier) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(supplier.row(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    // A valid ISBN-13 per book: 978, the zero-padded index and its check digit.
+    static String isbn(int i) {
+        String digits = String.format("978%09d", i);
+        int sum = 0;
+        for (int d = 0; d < 12; d++) {
+            sum += (d % 2 == 0 ? 1 : 3) * (digits.charAt(d) - '0');
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+
+    static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private interface RowSupplier {
+        Object[] row(int i);
+    }
+}
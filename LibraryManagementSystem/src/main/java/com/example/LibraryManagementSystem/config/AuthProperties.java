@@ -0,0 +1,17 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param tokenSecret base64 HMAC key for signing tokens; when unset a random key is generated at startup, so
+ *                    tokens do not survive a restart and are not accepted by other instances
+ * @param tokenTtl how long an issued token stays valid
+ * @param enforced whether every endpoint except login, sign-up, health and the docs requires a token; only local
+ *                 development and tests should turn it off
+ */
+@ConfigurationProperties("library.auth")
+public record AuthProperties(String tokenSecret, @DefaultValue("1h") Duration tokenTtl, @DefaultValue("true") boolean enforced) {
+}
@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("library.availability")
+public record AvailabilityProperties(@DefaultValue("5000") int maxIds) {
+}
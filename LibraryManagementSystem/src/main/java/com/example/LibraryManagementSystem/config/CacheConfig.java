@@ -0,0 +1,30 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+
+    // Evictions issued inside a transaction are deferred until it commits; evicting earlier would let a
+    // concurrent reader re-cache the row the transaction is about to change.
+    @Bean
+    public CacheManager cacheManager(CachingProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOOKS, AUTHORS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
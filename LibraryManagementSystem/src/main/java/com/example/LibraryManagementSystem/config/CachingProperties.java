@@ -0,0 +1,10 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("library.cache")
+public record CachingProperties(@DefaultValue("10000") long maximumSize, @DefaultValue("10m") Duration timeToLive) {
+}
@@ -0,0 +1,11 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("library.checkout")
+public record CheckoutProperties(@DefaultValue("1024") int lockStripes, @DefaultValue("14d") Duration loanPeriod,
+                                 @DefaultValue("50") int maxBasketSize) {
+}
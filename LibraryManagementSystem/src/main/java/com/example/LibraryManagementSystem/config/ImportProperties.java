@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("library.import")
+public record ImportProperties(@DefaultValue("500") int batchSize, @DefaultValue("100") int maxReportedErrors) {
+}
@@ -0,0 +1,42 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.example.LibraryManagementSystem.metrics.HibernateSqlCounter;
+import com.example.LibraryManagementSystem.metrics.SqlMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final HibernateSqlCounter SQL_COUNTER = new HibernateSqlCounter();
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        // Hibernate takes a single inspector; one configured explicitly (as the query-plan test does) wins.
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, SQL_COUNTER);
+    }
+
+    @Bean
+    public SmartInitializingSingleton sqlEntityCounter(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, SQL_COUNTER);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlMetricsFilter> sqlMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlMetricsFilter> registration = new FilterRegistrationBean<>(new SqlMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// library.outbox.poll-interval is read directly by the @Scheduled trigger in OutboxRelay
+@ConfigurationProperties("library.outbox")
+public record OutboxProperties(@DefaultValue("100") int batchSize, @DefaultValue("10") int maxBatchesPerRun,
+                               @DefaultValue("30s") Duration sweepInterval, @DefaultValue("5m") Duration maxBackoff,
+                               @DefaultValue("7d") Duration retention, @DefaultValue Webhook webhook,
+                               @DefaultValue Broker broker) {
+
+    public record Webhook(String url, @DefaultValue("5s") Duration timeout) {
+    }
+
+    public record Broker(@DefaultValue("false") boolean enabled, @DefaultValue("10000") int capacity) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// library.overdue.scan-interval is read directly by the @Scheduled trigger in OverdueLoanService
+@ConfigurationProperties("library.overdue")
+public record OverdueProperties(@DefaultValue("500") int batchSize) {
+}
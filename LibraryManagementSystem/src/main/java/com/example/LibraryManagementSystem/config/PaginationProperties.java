@@ -0,0 +1,15 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("library.pagination")
+public record PaginationProperties(@DefaultValue("5") int defaultSize, @DefaultValue("100") int maxSize) {
+
+    public int resolveSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultSize;
+        }
+        return Math.max(1, Math.min(requestedSize, maxSize));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param strength BCrypt log2 work factor; each step doubles the cost of a hash
+ * @param threads hashing threads, 0 for half the available processors
+ * @param queueCapacity hashes allowed to wait for a thread before new ones are rejected
+ * @param timeout how long a request waits for its hash before giving up
+ * @param bulkCapacity hashes of bulk work (imports) allowed to be queued or running at once, in addition to the
+ *                     queue kept for interactive callers
+ */
+@ConfigurationProperties("library.password-hashing")
+public record PasswordHashingProperties(@DefaultValue("10") int strength, @DefaultValue("0") int threads,
+                                        @DefaultValue("64") int queueCapacity, @DefaultValue("10s") Duration timeout,
+                                        @DefaultValue("16") int bulkCapacity) {
+
+    public int resolveThreads() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Without a url there is no replica and every query goes to spring.datasource.
+@ConfigurationProperties("library.datasource.replica")
+public record ReplicaProperties(String url, String username, String password,
+                                @DefaultValue("10") int maximumPoolSize, @DefaultValue("2s") Duration maxLag,
+                                @DefaultValue("30s") Duration retryAfter, @DefaultValue("false") boolean migrate) {
+}
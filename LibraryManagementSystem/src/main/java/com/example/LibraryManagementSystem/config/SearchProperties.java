@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("library.search")
+public record SearchProperties(@DefaultValue("0.45") double minSimilarity, @DefaultValue("1000") int maxIsbnBatch,
+                               @DefaultValue("500") int maxSearchResults) {
+}
@@ -1,15 +1,53 @@
 package com.example.LibraryManagementSystem.config;
 
+import com.example.LibraryManagementSystem.security.TokenAuthenticationFilter;
+import com.example.LibraryManagementSystem.security.TokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
 @Configuration
+@EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return new BCryptPasswordEncoder(properties.strength());
+    }
+
+    // Stateless: no session, no CSRF token, no basic auth. A bearer token is checked by HMAC on each request.
+    // Ant matchers because the H2 console registers a second servlet next to the dispatcher.
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService, AuthProperties properties) throws Exception {
+        http.csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(requests -> {
+                    if (properties.enforced()) {
+                        requests.requestMatchers(antMatcher("/auth/**"), antMatcher(HttpMethod.POST, "/customers"), antMatcher("/actuator/health"),
+                                        antMatcher("/swagger-ui/**"), antMatcher("/v3/api-docs/**")).permitAll()
+                                .anyRequest().authenticated();
+                    } else {
+                        requests.anyRequest().permitAll();
+                    }
+                });
+        return http.build();
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,18 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.PaginationProperties;
 import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.dto.AuthorView;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
 import com.example.LibraryManagementSystem.service.AuthorService;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -24,59 +32,102 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class AuthorController {
 
     private AuthorService authorService;
+    private final PaginationProperties pagination;
+    private final CatalogueChanges catalogueChanges;
 
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService, PaginationProperties pagination, CatalogueChanges catalogueChanges) {
         this.authorService = authorService;
+        this.pagination = pagination;
+        this.catalogueChanges = catalogueChanges;
     }
 
     @GetMapping()
-    public ResponseEntity<PagedModel<EntityModel<Author>>> getAllAuthors(@RequestParam(defaultValue = "0") int page) {
-        Pageable pageable = PageRequest.of(page, 5);
-        Page<Author> authorsPage = authorService.getAllAuthors(pageable);
+    public ResponseEntity<CollectionModel<EntityModel<AuthorView>>> getAllAuthors(@RequestParam(defaultValue = "0") int page,
+                                                                              @RequestParam(required = false) Integer size,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "true") Boolean count) {
+        VersionStamp stamp = catalogueChanges.stamp();
+        ResponseEntity<CollectionModel<EntityModel<AuthorView>>> notModified = ConditionalGet.notModified(() -> stamp);
+        if (notModified != null) {
+            return notModified;
+        }
+        int pageSize = pagination.resolveSize(size);
+        if (cursor != null) {
+            Slice<Author> authorsSlice = authorService.getAuthorsAfter(PageCursor.decode(cursor), pageSize);
+            CollectionModel<EntityModel<AuthorView>> model = CollectionModel.of(toAuthorModels(authorsSlice.getContent(), 0),
+                    linkTo(methodOn(AuthorController.class).getAllAuthors(0, pageSize, cursor, null)).withSelfRel());
+            if (authorsSlice.hasNext()) {
+                Long lastId = authorsSlice.getContent().get(authorsSlice.getNumberOfElements() - 1).getId();
+                model.add(linkTo(methodOn(AuthorController.class).getAllAuthors(0, pageSize, PageCursor.encode(lastId), null)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
 
-        List<EntityModel<Author>> authors = authorsPage.getContent().stream()
-                .map(author -> EntityModel.of(author,
-                        linkTo(methodOn(AuthorController.class).getAuthorById(author.getId())).withSelfRel(),
-                        linkTo(methodOn(AuthorController.class).getAllAuthors(page)).withRel("authors")))
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, pageSize);
+        if (!count) {
+            Slice<Author> authorsSlice = authorService.getAuthorsSlice(pageable);
+            CollectionModel<EntityModel<AuthorView>> model = CollectionModel.of(toAuthorModels(authorsSlice.getContent(), page),
+                    linkTo(methodOn(AuthorController.class).getAllAuthors(page, pageSize, null, false)).withSelfRel());
+            if (authorsSlice.hasNext()) {
+                model.add(linkTo(methodOn(AuthorController.class).getAllAuthors(page + 1, pageSize, null, false)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
+
+        Page<Author> authorsPage = authorService.getAllAuthors(pageable);
 
-        PagedModel<EntityModel<Author>> pagedModel = PagedModel.of(authors,
+        PagedModel<EntityModel<AuthorView>> pagedModel = PagedModel.of(toAuthorModels(authorsPage.getContent(), page),
                 new PagedModel.PageMetadata(authorsPage.getSize(), authorsPage.getNumber(), authorsPage.getTotalElements()));
 
-        pagedModel.add(linkTo(methodOn(AuthorController.class).getAllAuthors(page)).withSelfRel());
+        pagedModel.add(linkTo(methodOn(AuthorController.class).getAllAuthors(page, pageSize, null, null)).withSelfRel());
 
-        return ResponseEntity.ok(pagedModel);
+        return ConditionalGet.ok(stamp, pagedModel);
+    }
+
+    // Multi-get: GET /authors?ids=3,1,7 answers every id in one round trip and at most one query.
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getAuthorsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > pagination.maxSize()) {
+            return new ResponseEntity<>("At most " + pagination.maxSize() + " ids can be fetched at once", HttpStatus.BAD_REQUEST);
+        }
+        Map<Long, Author> authors = authorService.getAuthorsByIds(ids);
+        ItemLinks links = ItemLinks.of(AuthorController.class, methodOn(AuthorController.class).getAllAuthors(0, null, null, null), "authors");
+        return ResponseEntity.ok(links.toBatch(ids, authors, AuthorView::from));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getAuthorById(@PathVariable Long id) {
+        ResponseEntity<?> notModified = ConditionalGet.notModified(() -> authorService.getAuthorVersion(id));
+        if (notModified != null) {
+            return notModified;
+        }
         Author author = authorService.getAuthorById(id);
         if (author != null) {
-            EntityModel<Author> resource = EntityModel.of(author,
+            EntityModel<AuthorView> resource = EntityModel.of(AuthorView.from(author),
                     linkTo(methodOn(AuthorController.class).getAuthorById(id)).withSelfRel(),
-                    linkTo(methodOn(AuthorController.class).getAllAuthors(0)).withRel("authors"));
-            return ResponseEntity.ok(resource);
+                    linkTo(methodOn(AuthorController.class).getAllAuthors(0, null, null, null)).withRel("authors"));
+            return ConditionalGet.ok(VersionStamp.of(author), resource);
         } else {
             return new ResponseEntity<>("There is no Author with this ID", HttpStatus.NOT_FOUND);
         }
     }
 
     @PostMapping
-    public ResponseEntity<EntityModel<Author>> createAuthor(@Valid @RequestBody Author author) {
+    public ResponseEntity<EntityModel<AuthorView>> createAuthor(@Valid @RequestBody Author author) {
         Author createdAuthor = authorService.createAuthor(author);
-        EntityModel<Author> resource = EntityModel.of(createdAuthor,
+        EntityModel<AuthorView> resource = EntityModel.of(AuthorView.from(createdAuthor),
                 linkTo(methodOn(AuthorController.class).getAuthorById(createdAuthor.getId())).withSelfRel(),
-                linkTo(methodOn(AuthorController.class).getAllAuthors(0)).withRel("authors"));
+                linkTo(methodOn(AuthorController.class).getAllAuthors(0, null, null, null)).withRel("authors"));
         return new ResponseEntity<>(resource, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<EntityModel<Author>> updateAuthor(@PathVariable Long id, @Valid @RequestBody Author authorDetails) {
+    public ResponseEntity<EntityModel<AuthorView>> updateAuthor(@PathVariable Long id, @Valid @RequestBody Author authorDetails) {
         Author updatedAuthor = authorService.updateAuthor(id, authorDetails);
         if (updatedAuthor != null) {
-            EntityModel<Author> resource = EntityModel.of(updatedAuthor,
+            EntityModel<AuthorView> resource = EntityModel.of(AuthorView.from(updatedAuthor),
                     linkTo(methodOn(AuthorController.class).getAuthorById(updatedAuthor.getId())).withSelfRel(),
-                    linkTo(methodOn(AuthorController.class).getAllAuthors(0)).withRel("authors"));
+                    linkTo(methodOn(AuthorController.class).getAllAuthors(0, null, null, null)).withRel("authors"));
             return ResponseEntity.ok(resource);
         } else {
             return ResponseEntity.notFound().build();
@@ -88,4 +139,11 @@ public class AuthorController {
         authorService.deleteAuthor(id);
         return ResponseEntity.noContent().build();
     }
+
+    private List<EntityModel<AuthorView>> toAuthorModels(List<Author> authors, int page) {
+        ItemLinks links = ItemLinks.of(AuthorController.class, methodOn(AuthorController.class).getAllAuthors(page, null, null, null), "authors");
+        return authors.stream()
+                .map(author -> links.toModel(AuthorView.from(author), author.getId()))
+                .collect(Collectors.toList());
+    }
 }
@@ -1,19 +1,40 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.AvailabilityProperties;
+import com.example.LibraryManagementSystem.config.PaginationProperties;
+import com.example.LibraryManagementSystem.config.SearchProperties;
 import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.dto.AutocompleteView;
+import com.example.LibraryManagementSystem.dto.BookAvailabilityView;
+import com.example.LibraryManagementSystem.dto.BookFacetsView;
+import com.example.LibraryManagementSystem.dto.IsbnLookupView;
+import com.example.LibraryManagementSystem.dto.BookView;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.search.BookFacetIndex;
+import com.example.LibraryManagementSystem.search.FacetedBooks;
+import com.example.LibraryManagementSystem.search.IsbnMatch;
 import com.example.LibraryManagementSystem.service.BookService;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
@@ -24,38 +45,86 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class BookController {
 
     private final BookService bookService;
+    private final PaginationProperties pagination;
+    private final AvailabilityProperties availability;
+    private final SearchProperties search;
+    private final CatalogueChanges catalogueChanges;
 
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, PaginationProperties pagination, AvailabilityProperties availability,
+                          SearchProperties search, CatalogueChanges catalogueChanges) {
         this.bookService = bookService;
+        this.pagination = pagination;
+        this.availability = availability;
+        this.search = search;
+        this.catalogueChanges = catalogueChanges;
     }
 
     @GetMapping
-    public ResponseEntity<PagedModel<EntityModel<Book>>> getAllBooks(@RequestParam(defaultValue = "0") int page) {
-        Pageable pageable = PageRequest.of(page, 5);
-        Page<Book> booksPage = bookService.getAllBooks(pageable);
+    public ResponseEntity<CollectionModel<EntityModel<BookView>>> getAllBooks(@RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(required = false) Integer size,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(defaultValue = "true") Boolean count) {
+        VersionStamp stamp = catalogueChanges.stamp();
+        ResponseEntity<CollectionModel<EntityModel<BookView>>> notModified = ConditionalGet.notModified(() -> stamp);
+        if (notModified != null) {
+            return notModified;
+        }
+        int pageSize = pagination.resolveSize(size);
+        if (cursor != null) {
+            Slice<Book> booksSlice = bookService.getBooksAfter(PageCursor.decode(cursor), pageSize);
+            CollectionModel<EntityModel<BookView>> model = CollectionModel.of(toBookModels(booksSlice.getContent(), 0),
+                    linkTo(methodOn(BookController.class).getAllBooks(0, pageSize, cursor, null)).withSelfRel());
+            if (booksSlice.hasNext()) {
+                Long lastId = booksSlice.getContent().get(booksSlice.getNumberOfElements() - 1).getId();
+                model.add(linkTo(methodOn(BookController.class).getAllBooks(0, pageSize, PageCursor.encode(lastId), null)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
 
-        List<EntityModel<Book>> books = booksPage.getContent().stream()
-                .map(book -> EntityModel.of(book,
-                        linkTo(methodOn(BookController.class).getBookById(book.getId())).withSelfRel(),
-                        linkTo(methodOn(BookController.class).getAllBooks(page)).withRel("books")))
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, pageSize);
+        if (!count) {
+            Slice<Book> booksSlice = bookService.getBooksSlice(pageable);
+            CollectionModel<EntityModel<BookView>> model = CollectionModel.of(toBookModels(booksSlice.getContent(), page),
+                    linkTo(methodOn(BookController.class).getAllBooks(page, pageSize, null, false)).withSelfRel());
+            if (booksSlice.hasNext()) {
+                model.add(linkTo(methodOn(BookController.class).getAllBooks(page + 1, pageSize, null, false)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
 
-        PagedModel<EntityModel<Book>> pagedModel = PagedModel.of(books,
+        Page<Book> booksPage = bookService.getAllBooks(pageable);
+
+        PagedModel<EntityModel<BookView>> pagedModel = PagedModel.of(toBookModels(booksPage.getContent(), page),
                 new PagedModel.PageMetadata(booksPage.getSize(), booksPage.getNumber(), booksPage.getTotalElements()));
 
-        pagedModel.add(linkTo(methodOn(BookController.class).getAllBooks(page)).withSelfRel());
+        pagedModel.add(linkTo(methodOn(BookController.class).getAllBooks(page, pageSize, null, null)).withSelfRel());
 
-        return ResponseEntity.ok(pagedModel);
+        return ConditionalGet.ok(stamp, pagedModel);
+    }
+
+    // Multi-get: GET /books?ids=3,1,7 answers every id in one round trip and at most one query.
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getBooksByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > pagination.maxSize()) {
+            return new ResponseEntity<>("At most " + pagination.maxSize() + " ids can be fetched at once", HttpStatus.BAD_REQUEST);
+        }
+        Map<Long, Book> books = bookService.getBooksByIds(ids);
+        ItemLinks links = ItemLinks.of(BookController.class, methodOn(BookController.class).getAllBooks(0, null, null, null), "books");
+        return ResponseEntity.ok(links.toBatch(ids, books, BookView::from));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getBookById(@PathVariable Long id) {
+        ResponseEntity<?> notModified = ConditionalGet.notModified(() -> bookService.getBookVersion(id));
+        if (notModified != null) {
+            return notModified;
+        }
         Book book = bookService.getBookById(id);
         if (book != null) {
-            EntityModel<Book> bookModel = EntityModel.of(book,
+            EntityModel<BookView> bookModel = EntityModel.of(BookView.from(book),
                     linkTo(methodOn(BookController.class).getBookById(id)).withSelfRel(),
-                    linkTo(methodOn(BookController.class).getAllBooks(0)).withRel("books"));
-            return ResponseEntity.ok(bookModel);
+                    linkTo(methodOn(BookController.class).getAllBooks(0, null, null, null)).withRel("books"));
+            return ConditionalGet.ok(VersionStamp.of(book), bookModel);
         } else {
             return new ResponseEntity<>("There is no Book with this ID", HttpStatus.NOT_FOUND);
         }
@@ -65,9 +134,9 @@ public class BookController {
     public ResponseEntity<?> createBook(@Valid @RequestBody Book book) {
         try {
             Book createdBook = bookService.createBook(book);
-            EntityModel<Book> bookModel = EntityModel.of(createdBook,
+            EntityModel<BookView> bookModel = EntityModel.of(BookView.from(createdBook),
                     linkTo(methodOn(BookController.class).getBookById(createdBook.getId())).withSelfRel(),
-                    linkTo(methodOn(BookController.class).getAllBooks(0)).withRel("books"));
+                    linkTo(methodOn(BookController.class).getAllBooks(0, null, null, null)).withRel("books"));
             return new ResponseEntity<>(bookModel, HttpStatus.CREATED);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -78,9 +147,9 @@ public class BookController {
     public ResponseEntity<?> updateBook(@PathVariable Long id, @Valid @RequestBody Book bookDetails) {
         try {
             Book updatedBook = bookService.updateBook(id, bookDetails);
-            EntityModel<Book> bookModel = EntityModel.of(updatedBook,
+            EntityModel<BookView> bookModel = EntityModel.of(BookView.from(updatedBook),
                     linkTo(methodOn(BookController.class).getBookById(updatedBook.getId())).withSelfRel(),
-                    linkTo(methodOn(BookController.class).getAllBooks(0)).withRel("books"));
+                    linkTo(methodOn(BookController.class).getAllBooks(0, null, null, null)).withRel("books"));
             return ResponseEntity.ok(bookModel);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -120,12 +189,107 @@ public class BookController {
             books = bookService.searchBooksByIsbn(isbn);
         }
 
-        List<EntityModel<Book>> bookModels = books.stream()
-                .map(book -> EntityModel.of(book,
-                        linkTo(methodOn(BookController.class).getBookById(book.getId())).withSelfRel(),
-                        linkTo(methodOn(BookController.class).getAllBooks(0)).withRel("books")))
+        ItemLinks links = ItemLinks.of(BookController.class, methodOn(BookController.class).getAllBooks(0, null, null, null), "books");
+        List<EntityModel<BookView>> bookModels = books.stream()
+                .map(book -> links.toModel(BookView.from(book), book.getId()))
                 .collect(Collectors.toList());
 
         return new ResponseEntity<>(bookModels, HttpStatus.OK);
     }
+
+    // Accepts ISBN-10 or ISBN-13, with or without hyphens; all copies of the edition are returned.
+    @GetMapping("/isbn/{isbn}")
+    public ResponseEntity<?> getBooksByIsbn(@PathVariable String isbn) {
+        IsbnMatch match = bookService.findBooksByIsbn(List.of(isbn)).get(0);
+        if (match.isbn() == null) {
+            return new ResponseEntity<>("Not a valid ISBN-10 or ISBN-13", HttpStatus.BAD_REQUEST);
+        }
+        if (match.books().isEmpty()) {
+            return new ResponseEntity<>("There is no Book with this ISBN", HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(toBookModels(match.books(), 0));
+    }
+
+    // Batch variant for scanning stations: one result per submitted barcode, in submission order.
+    @PostMapping("/isbn")
+    public ResponseEntity<?> getBooksByIsbns(@RequestBody List<String> isbns) {
+        if (isbns.size() > search.maxIsbnBatch()) {
+            return new ResponseEntity<>("At most " + search.maxIsbnBatch() + " ISBNs can be looked up at once", HttpStatus.BAD_REQUEST);
+        }
+        List<IsbnLookupView> results = bookService.findBooksByIsbn(isbns).stream()
+                .map(match -> new IsbnLookupView(match.query(), match.isbn(), match.isbn() != null, toBookModels(match.books(), 0)))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(results);
+    }
+
+    // Typo-tolerant search over title and author name, best match first.
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<List<EntityModel<BookView>>> searchBooksFuzzy(@RequestParam String q,
+                                                                        @RequestParam(required = false) Integer size) {
+        List<Book> books = bookService.searchBooksFuzzy(q, pagination.resolveSize(size));
+        return ResponseEntity.ok(toBookModels(books, 0));
+    }
+
+    // Most popular titles and author names starting with the prefix, for search-as-you-type.
+    @GetMapping("/autocomplete")
+    public ResponseEntity<AutocompleteView> autocomplete(@RequestParam String prefix,
+                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookService.autocomplete(prefix, pagination.resolveSize(size)));
+    }
+
+    // Any combination of facets; repeat a parameter to select several values of the same facet.
+    @GetMapping("/browse")
+    public ResponseEntity<BookFacetsView> browseBooks(@RequestParam(required = false) List<String> genre,
+                                                      @RequestParam(required = false) List<String> year,
+                                                      @RequestParam(required = false) List<String> available,
+                                                      @RequestParam(required = false) List<String> nationality,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @RequestParam(defaultValue = "") String cursor) {
+        Map<BookFacetIndex.Facet, Set<String>> filters = new EnumMap<>(BookFacetIndex.Facet.class);
+        addFilter(filters, BookFacetIndex.Facet.GENRE, genre);
+        addFilter(filters, BookFacetIndex.Facet.YEAR, year);
+        addFilter(filters, BookFacetIndex.Facet.AVAILABLE, available);
+        addFilter(filters, BookFacetIndex.Facet.NATIONALITY, nationality);
+
+        FacetedBooks result = bookService.browseBooks(filters, PageCursor.decode(cursor), pagination.resolveSize(size));
+
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet.parameter(), counts));
+        List<Book> books = result.books();
+        String nextCursor = result.hasNext() && !books.isEmpty() ? PageCursor.encode(books.get(books.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new BookFacetsView(result.total(), facets, toBookModels(books, 0), nextCursor));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(@RequestParam List<Long> ids) {
+        return availabilityOf(ids);
+    }
+
+    // POST variant for kiosks whose id lists would not fit in a request line.
+    @PostMapping("/availability")
+    public ResponseEntity<?> postAvailability(@RequestBody List<Long> ids) {
+        return availabilityOf(ids);
+    }
+
+    private ResponseEntity<?> availabilityOf(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > availability.maxIds()) {
+            return new ResponseEntity<>("At most " + availability.maxIds() + " book ids can be checked at once", HttpStatus.BAD_REQUEST);
+        }
+        BookAvailabilityView view = bookService.getAvailability(distinctIds);
+        return ResponseEntity.ok(view);
+    }
+
+    private static void addFilter(Map<BookFacetIndex.Facet, Set<String>> filters, BookFacetIndex.Facet facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(facet, new LinkedHashSet<>(values));
+        }
+    }
+
+    private List<EntityModel<BookView>> toBookModels(List<Book> books, int page) {
+        ItemLinks links = ItemLinks.of(BookController.class, methodOn(BookController.class).getAllBooks(page, null, null, null), "books");
+        return books.stream()
+                .map(book -> links.toModel(BookView.from(book), book.getId()))
+                .collect(Collectors.toList());
+    }
 }
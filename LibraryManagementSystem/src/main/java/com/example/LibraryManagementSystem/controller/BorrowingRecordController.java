@@ -1,12 +1,24 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.CheckoutProperties;
+import com.example.LibraryManagementSystem.config.PaginationProperties;
 import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.dto.BasketCheckoutRequest;
+import com.example.LibraryManagementSystem.dto.BorrowingRecordView;
+import com.example.LibraryManagementSystem.dto.LoanResultView;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.exception.CheckoutConflictException;
 import com.example.LibraryManagementSystem.service.BorrowingRecordService;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
+import com.example.LibraryManagementSystem.service.LoanResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,39 +35,74 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class BorrowingRecordController {
 
     private final BorrowingRecordService borrowingRecordService;
+    private final PaginationProperties pagination;
+    private final CheckoutProperties checkout;
+    private final CatalogueChanges catalogueChanges;
 
     @Autowired
-    public BorrowingRecordController(BorrowingRecordService borrowingRecordService) {
+    public BorrowingRecordController(BorrowingRecordService borrowingRecordService, PaginationProperties pagination,
+                                     CheckoutProperties checkout, CatalogueChanges catalogueChanges) {
         this.borrowingRecordService = borrowingRecordService;
+        this.pagination = pagination;
+        this.checkout = checkout;
+        this.catalogueChanges = catalogueChanges;
     }
 
     @GetMapping
-    public ResponseEntity<PagedModel<EntityModel<BorrowingRecord>>> getAllBorrowingRecords(@RequestParam(defaultValue = "0") int page) {
-        Pageable pageable = PageRequest.of(page, 5);
-        Page<BorrowingRecord> borrowingRecordsPage = borrowingRecordService.getAllBorrowingRecords(pageable);
+    public ResponseEntity<CollectionModel<EntityModel<BorrowingRecordView>>> getAllBorrowingRecords(@RequestParam(defaultValue = "0") int page,
+                                                                                                @RequestParam(required = false) Integer size,
+                                                                                                @RequestParam(required = false) String cursor,
+                                                                                                @RequestParam(defaultValue = "true") Boolean count) {
+        VersionStamp stamp = catalogueChanges.stamp();
+        ResponseEntity<CollectionModel<EntityModel<BorrowingRecordView>>> notModified = ConditionalGet.notModified(() -> stamp);
+        if (notModified != null) {
+            return notModified;
+        }
+        int pageSize = pagination.resolveSize(size);
+        if (cursor != null) {
+            Slice<BorrowingRecord> borrowingRecordsSlice = borrowingRecordService.getBorrowingRecordsAfter(PageCursor.decode(cursor), pageSize);
+            CollectionModel<EntityModel<BorrowingRecordView>> model = CollectionModel.of(toBorrowingRecordModels(borrowingRecordsSlice.getContent(), 0),
+                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, pageSize, cursor, null)).withSelfRel());
+            if (borrowingRecordsSlice.hasNext()) {
+                Long lastId = borrowingRecordsSlice.getContent().get(borrowingRecordsSlice.getNumberOfElements() - 1).getId();
+                model.add(linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, pageSize, PageCursor.encode(lastId), null)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
 
-        List<EntityModel<BorrowingRecord>> borrowingRecords = borrowingRecordsPage.getContent().stream()
-                .map(record -> EntityModel.of(record,
-                        linkTo(methodOn(BorrowingRecordController.class).getBorrowingRecordById(record.getId())).withSelfRel(),
-                        linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(page)).withRel("borrowings")))
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, pageSize);
+        if (!count) {
+            Slice<BorrowingRecord> borrowingRecordsSlice = borrowingRecordService.getBorrowingRecordsSlice(pageable);
+            CollectionModel<EntityModel<BorrowingRecordView>> model = CollectionModel.of(toBorrowingRecordModels(borrowingRecordsSlice.getContent(), page),
+                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(page, pageSize, null, false)).withSelfRel());
+            if (borrowingRecordsSlice.hasNext()) {
+                model.add(linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(page + 1, pageSize, null, false)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
 
-        PagedModel<EntityModel<BorrowingRecord>> pagedModel = PagedModel.of(borrowingRecords,
+        Page<BorrowingRecord> borrowingRecordsPage = borrowingRecordService.getAllBorrowingRecords(pageable);
+
+        PagedModel<EntityModel<BorrowingRecordView>> pagedModel = PagedModel.of(toBorrowingRecordModels(borrowingRecordsPage.getContent(), page),
                 new PagedModel.PageMetadata(borrowingRecordsPage.getSize(), borrowingRecordsPage.getNumber(), borrowingRecordsPage.getTotalElements()));
 
-        pagedModel.add(linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(page)).withSelfRel());
+        pagedModel.add(linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(page, pageSize, null, null)).withSelfRel());
 
-        return ResponseEntity.ok(pagedModel);
+        return ConditionalGet.ok(stamp, pagedModel);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getBorrowingRecordById(@PathVariable Long id) {
+        ResponseEntity<?> notModified = ConditionalGet.notModified(() -> borrowingRecordService.getBorrowingRecordVersion(id));
+        if (notModified != null) {
+            return notModified;
+        }
         BorrowingRecord borrowingRecord = borrowingRecordService.getBorrowingRecordById(id);
         if (borrowingRecord != null) {
-            EntityModel<BorrowingRecord> recordModel = EntityModel.of(borrowingRecord,
+            EntityModel<BorrowingRecordView> recordModel = EntityModel.of(BorrowingRecordView.from(borrowingRecord),
                     linkTo(methodOn(BorrowingRecordController.class).getBorrowingRecordById(id)).withSelfRel(),
-                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0)).withRel("borrowings"));
-            return ResponseEntity.ok(recordModel);
+                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, null, null, null)).withRel("borrowings"));
+            return ConditionalGet.ok(VersionStamp.of(borrowingRecord), recordModel);
         } else {
             return new ResponseEntity<>("There is no Record with this ID", HttpStatus.NOT_FOUND);
         }
@@ -65,23 +112,70 @@ public class BorrowingRecordController {
     public ResponseEntity<?> createBorrowingRecord(@Valid @RequestBody BorrowingRecord borrowingRecord) {
         try {
             BorrowingRecord createdBorrowingRecord = borrowingRecordService.createBorrowingRecord(borrowingRecord.getCustomer().getId(), borrowingRecord.getBook().getId(), borrowingRecord);
-            EntityModel<BorrowingRecord> recordModel = EntityModel.of(createdBorrowingRecord,
+            EntityModel<BorrowingRecordView> recordModel = EntityModel.of(BorrowingRecordView.from(createdBorrowingRecord),
                     linkTo(methodOn(BorrowingRecordController.class).getBorrowingRecordById(createdBorrowingRecord.getId())).withSelfRel(),
-                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0)).withRel("borrowings"));
+                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, null, null, null)).withRel("borrowings"));
             return new ResponseEntity<>(recordModel, HttpStatus.CREATED);
+        } catch (CheckoutConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
         }
     }
 
+    // Self-checkout stations post the whole basket at once; each book gets its own result.
+    @PostMapping("/basket")
+    public ResponseEntity<?> checkoutBasket(@Valid @RequestBody BasketCheckoutRequest request) {
+        if (request.bookIds().size() > checkout.maxBasketSize()) {
+            return new ResponseEntity<>("At most " + checkout.maxBasketSize() + " books can be checked out at once", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<LoanResult> results = borrowingRecordService.checkoutBasket(request.customerId(), request.bookIds());
+            return ResponseEntity.ok(toLoanResultViews(results));
+        } catch (CheckoutConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping("/returns")
+    public ResponseEntity<?> returnBasket(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > checkout.maxBasketSize()) {
+            return new ResponseEntity<>("Between 1 and " + checkout.maxBasketSize() + " borrowing records can be returned at once", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return ResponseEntity.ok(toLoanResultViews(borrowingRecordService.returnBasket(ids)));
+        } catch (CheckoutConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateBorrowingRecord(@PathVariable Long id, @Valid @RequestBody BorrowingRecord borrowingRecord) {
         try {
             BorrowingRecord updatedBorrowingRecord = borrowingRecordService.updateBorrowingRecord(id, borrowingRecord.getCustomer().getId(), borrowingRecord.getBook().getId(), borrowingRecord);
-            EntityModel<BorrowingRecord> recordModel = EntityModel.of(updatedBorrowingRecord,
+            EntityModel<BorrowingRecordView> recordModel = EntityModel.of(BorrowingRecordView.from(updatedBorrowingRecord),
                     linkTo(methodOn(BorrowingRecordController.class).getBorrowingRecordById(updatedBorrowingRecord.getId())).withSelfRel(),
-                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0)).withRel("borrowings"));
+                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, null, null, null)).withRel("borrowings"));
             return ResponseEntity.ok(recordModel);
+        } catch (CheckoutConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @PostMapping("/{id}/return")
+    public ResponseEntity<?> returnBorrowingRecord(@PathVariable Long id) {
+        try {
+            BorrowingRecord returnedBorrowingRecord = borrowingRecordService.returnBorrowingRecord(id);
+            EntityModel<BorrowingRecordView> recordModel = EntityModel.of(BorrowingRecordView.from(returnedBorrowingRecord),
+                    linkTo(methodOn(BorrowingRecordController.class).getBorrowingRecordById(returnedBorrowingRecord.getId())).withSelfRel(),
+                    linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, null, null, null)).withRel("borrowings"));
+            return ResponseEntity.ok(recordModel);
+        } catch (CheckoutConflictException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
         }
@@ -111,12 +205,26 @@ public class BorrowingRecordController {
             borrowingRecords = borrowingRecordService.findByBookId(bookId);
         }
 
-        List<EntityModel<BorrowingRecord>> recordModels = borrowingRecords.stream()
-                .map(record -> EntityModel.of(record,
-                        linkTo(methodOn(BorrowingRecordController.class).getBorrowingRecordById(record.getId())).withSelfRel(),
-                        linkTo(methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0)).withRel("borrowings")))
+        ItemLinks links = ItemLinks.of(BorrowingRecordController.class, methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, null, null, null), "borrowings");
+        List<EntityModel<BorrowingRecordView>> recordModels = borrowingRecords.stream()
+                .map(record -> links.toModel(BorrowingRecordView.from(record), record.getId()))
                 .collect(Collectors.toList());
 
         return new ResponseEntity<>(recordModels, HttpStatus.OK);
     }
+
+    private List<EntityModel<BorrowingRecordView>> toBorrowingRecordModels(List<BorrowingRecord> borrowingRecords, int page) {
+        ItemLinks links = ItemLinks.of(BorrowingRecordController.class, methodOn(BorrowingRecordController.class).getAllBorrowingRecords(page, null, null, null), "borrowings");
+        return borrowingRecords.stream()
+                .map(record -> links.toModel(BorrowingRecordView.from(record), record.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private List<LoanResultView> toLoanResultViews(List<LoanResult> results) {
+        ItemLinks links = ItemLinks.of(BorrowingRecordController.class, methodOn(BorrowingRecordController.class).getAllBorrowingRecords(0, null, null, null), "borrowings");
+        return results.stream()
+                .map(result -> new LoanResultView(result.id(), result.status().name(), result.message(),
+                        result.record() != null ? links.toModel(BorrowingRecordView.from(result.record()), result.record().getId()) : null))
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * ETag and Last-Modified handling for GET endpoints. {@link #ok} attaches the validators of the representation, and
+ * Spring answers 304 on its own when they still match the request. {@link #notModified} answers 304 earlier, from
+ * the validators alone, so the entity is neither loaded nor serialized; unconditional requests skip that lookup.
+ * The request is taken from the current request context, like the {@code linkTo} links are.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * A 304 response if the request carries {@code If-None-Match} or {@code If-Modified-Since} and the validators
+     * returned by {@code lookup} still match them; null if the handler has to build the response.
+     */
+    static <T> ResponseEntity<T> notModified(Supplier<VersionStamp> lookup) {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return null;
+        }
+        VersionStamp stamp = lookup.get();
+        // Without a response the check only evaluates the request headers and leaves status and headers to us.
+        if (stamp == null || !new ServletWebRequest(request).checkNotModified(stamp.etag(), stamp.lastModifiedMillis())) {
+            return null;
+        }
+        return validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), stamp).build();
+    }
+
+    static <T> ResponseEntity<T> ok(VersionStamp stamp, T body) {
+        return validators(ResponseEntity.ok(), stamp).body(body);
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, VersionStamp stamp) {
+        if (stamp == null) {
+            return builder;
+        }
+        builder.eTag(stamp.etag());
+        if (stamp.lastModified() != null) {
+            builder.lastModified(stamp.lastModifiedMillis());
+        }
+        return builder;
+    }
+}
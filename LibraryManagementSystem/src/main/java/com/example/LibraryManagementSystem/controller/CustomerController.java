@@ -1,12 +1,19 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.PaginationProperties;
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.CustomerView;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
 import com.example.LibraryManagementSystem.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
@@ -24,39 +32,82 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final PaginationProperties pagination;
+    private final CatalogueChanges catalogueChanges;
 
     @Autowired
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, PaginationProperties pagination, CatalogueChanges catalogueChanges) {
         this.customerService = customerService;
+        this.pagination = pagination;
+        this.catalogueChanges = catalogueChanges;
     }
 
     @GetMapping
-    public ResponseEntity<PagedModel<EntityModel<Customer>>> getAllCustomers(@RequestParam(defaultValue = "0") int page) {
-        Pageable pageable = PageRequest.of(page, 5);
-        Page<Customer> customersPage = customerService.getAllCustomers(pageable);
+    public ResponseEntity<CollectionModel<EntityModel<CustomerView>>> getAllCustomers(@RequestParam(defaultValue = "0") int page,
+                                                                                  @RequestParam(required = false) Integer size,
+                                                                                  @RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(defaultValue = "true") Boolean count) {
+        VersionStamp stamp = catalogueChanges.stamp();
+        ResponseEntity<CollectionModel<EntityModel<CustomerView>>> notModified = ConditionalGet.notModified(() -> stamp);
+        if (notModified != null) {
+            return notModified;
+        }
+        int pageSize = pagination.resolveSize(size);
+        if (cursor != null) {
+            Slice<Customer> customersSlice = customerService.getCustomersAfter(PageCursor.decode(cursor), pageSize);
+            CollectionModel<EntityModel<CustomerView>> model = CollectionModel.of(toCustomerModels(customersSlice.getContent(), 0),
+                    linkTo(methodOn(CustomerController.class).getAllCustomers(0, pageSize, cursor, null)).withSelfRel());
+            if (customersSlice.hasNext()) {
+                Long lastId = customersSlice.getContent().get(customersSlice.getNumberOfElements() - 1).getId();
+                model.add(linkTo(methodOn(CustomerController.class).getAllCustomers(0, pageSize, PageCursor.encode(lastId), null)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
 
-        List<EntityModel<Customer>> customers = customersPage.getContent().stream()
-                .map(customer -> EntityModel.of(customer,
-                        linkTo(methodOn(CustomerController.class).getCustomerById(customer.getId())).withSelfRel(),
-                        linkTo(methodOn(CustomerController.class).getAllCustomers(page)).withRel("customers")))
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, pageSize);
+        if (!count) {
+            Slice<Customer> customersSlice = customerService.getCustomersSlice(pageable);
+            CollectionModel<EntityModel<CustomerView>> model = CollectionModel.of(toCustomerModels(customersSlice.getContent(), page),
+                    linkTo(methodOn(CustomerController.class).getAllCustomers(page, pageSize, null, false)).withSelfRel());
+            if (customersSlice.hasNext()) {
+                model.add(linkTo(methodOn(CustomerController.class).getAllCustomers(page + 1, pageSize, null, false)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ConditionalGet.ok(stamp, model);
+        }
+
+        Page<Customer> customersPage = customerService.getAllCustomers(pageable);
 
-        PagedModel<EntityModel<Customer>> pagedModel = PagedModel.of(customers,
+        PagedModel<EntityModel<CustomerView>> pagedModel = PagedModel.of(toCustomerModels(customersPage.getContent(), page),
                 new PagedModel.PageMetadata(customersPage.getSize(), customersPage.getNumber(), customersPage.getTotalElements()));
 
-        pagedModel.add(linkTo(methodOn(CustomerController.class).getAllCustomers(page)).withSelfRel());
+        pagedModel.add(linkTo(methodOn(CustomerController.class).getAllCustomers(page, pageSize, null, null)).withSelfRel());
 
-        return ResponseEntity.ok(pagedModel);
+        return ConditionalGet.ok(stamp, pagedModel);
+    }
+
+    // Multi-get: GET /customers?ids=3,1,7 answers every id in one round trip and one query.
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getCustomersByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > pagination.maxSize()) {
+            return new ResponseEntity<>("At most " + pagination.maxSize() + " ids can be fetched at once", HttpStatus.BAD_REQUEST);
+        }
+        Map<Long, Customer> customers = customerService.getCustomersByIds(ids);
+        ItemLinks links = ItemLinks.of(CustomerController.class, methodOn(CustomerController.class).getAllCustomers(0, null, null, null), "customers");
+        return ResponseEntity.ok(links.toBatch(ids, customers, CustomerView::from));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getCustomerById(@PathVariable Long id) {
+        ResponseEntity<?> notModified = ConditionalGet.notModified(() -> customerService.getCustomerVersion(id));
+        if (notModified != null) {
+            return notModified;
+        }
         Customer customer = customerService.getCustomerById(id);
         if (customer != null) {
-            EntityModel<Customer> customerModel = EntityModel.of(customer,
+            EntityModel<CustomerView> customerModel = EntityModel.of(CustomerView.from(customer),
                     linkTo(methodOn(CustomerController.class).getCustomerById(id)).withSelfRel(),
-                    linkTo(methodOn(CustomerController.class).getAllCustomers(0)).withRel("customers"));
-            return ResponseEntity.ok(customerModel);
+                    linkTo(methodOn(CustomerController.class).getAllCustomers(0, null, null, null)).withRel("customers"));
+            return ConditionalGet.ok(VersionStamp.of(customer), customerModel);
         } else {
             return new ResponseEntity<>("There is no Customer with this ID", HttpStatus.NOT_FOUND);
         }
@@ -65,9 +116,9 @@ public class CustomerController {
     @PostMapping
     public ResponseEntity<?> createCustomer(@Valid @RequestBody Customer customer) {
         Customer createdCustomer = customerService.createCustomer(customer);
-        EntityModel<Customer> customerModel = EntityModel.of(createdCustomer,
+        EntityModel<CustomerView> customerModel = EntityModel.of(CustomerView.from(createdCustomer),
                 linkTo(methodOn(CustomerController.class).getCustomerById(createdCustomer.getId())).withSelfRel(),
-                linkTo(methodOn(CustomerController.class).getAllCustomers(0)).withRel("customers"));
+                linkTo(methodOn(CustomerController.class).getAllCustomers(0, null, null, null)).withRel("customers"));
         return new ResponseEntity<>(customerModel, HttpStatus.CREATED);
     }
 
@@ -75,9 +126,9 @@ public class CustomerController {
     public ResponseEntity<?> updateCustomer(@PathVariable Long id, @Valid @RequestBody Customer customerDetails) {
         Customer updatedCustomer = customerService.updateCustomer(id, customerDetails);
         if (updatedCustomer != null) {
-            EntityModel<Customer> customerModel = EntityModel.of(updatedCustomer,
+            EntityModel<CustomerView> customerModel = EntityModel.of(CustomerView.from(updatedCustomer),
                     linkTo(methodOn(CustomerController.class).getCustomerById(updatedCustomer.getId())).withSelfRel(),
-                    linkTo(methodOn(CustomerController.class).getAllCustomers(0)).withRel("customers"));
+                    linkTo(methodOn(CustomerController.class).getAllCustomers(0, null, null, null)).withRel("customers"));
             return ResponseEntity.ok(customerModel);
         } else {
             return ResponseEntity.notFound().build();
@@ -89,4 +140,11 @@ public class CustomerController {
         customerService.deleteCustomer(id);
         return ResponseEntity.noContent().build();
     }
+
+    private List<EntityModel<CustomerView>> toCustomerModels(List<Customer> customers, int page) {
+        ItemLinks links = ItemLinks.of(CustomerController.class, methodOn(CustomerController.class).getAllCustomers(page, null, null, null), "customers");
+        return customers.stream()
+                .map(customer -> links.toModel(CustomerView.from(customer), customer.getId()))
+                .collect(Collectors.toList());
+    }
 }
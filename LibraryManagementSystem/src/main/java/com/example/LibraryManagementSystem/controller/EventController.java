@@ -0,0 +1,45 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.config.PaginationProperties;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("/events")
+public class EventController {
+
+    private final ChangeEventOutbox outbox;
+    private final PaginationProperties pagination;
+
+    @Autowired
+    public EventController(ChangeEventOutbox outbox, PaginationProperties pagination) {
+        this.outbox = outbox;
+        this.pagination = pagination;
+    }
+
+    // The stream never ends, so there is always a next link: the position to poll from once this page is handled.
+    @GetMapping
+    public ResponseEntity<CollectionModel<ChangeEvent>> getEvents(@RequestParam(defaultValue = "0") long after,
+                                                                  @RequestParam(required = false) Integer size) {
+        int pageSize = pagination.resolveSize(size);
+        List<ChangeEvent> events = outbox.eventsAfter(after, pageSize);
+        long next = events.isEmpty() ? after : events.get(events.size() - 1).position();
+        CollectionModel<ChangeEvent> model = CollectionModel.of(events,
+                linkTo(methodOn(EventController.class).getEvents(after, pageSize)).withSelfRel(),
+                linkTo(methodOn(EventController.class).getEvents(next, pageSize)).withRel(IanaLinkRelations.NEXT));
+        return ResponseEntity.ok(model);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.service.ExportService;
+import com.example.LibraryManagementSystem.service.ImportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping(value = "/exports", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/books")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "*/*") String accept) {
+        ImportFormat format = ImportFormat.accepting(MediaType.parseMediaTypes(accept));
+        return stream("books", format, output -> exportService.exportBooks(output, format));
+    }
+
+    @GetMapping("/customers")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "*/*") String accept) {
+        ImportFormat format = ImportFormat.accepting(MediaType.parseMediaTypes(accept));
+        return stream("customers", format, output -> exportService.exportCustomers(output, format));
+    }
+
+    @GetMapping("/borrowings")
+    public ResponseEntity<StreamingResponseBody> exportBorrowings(@RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "*/*") String accept,
+                                                                 @RequestParam(required = false) Long userId,
+                                                                 @RequestParam(required = false) Long bookId) {
+        ImportFormat format = ImportFormat.accepting(MediaType.parseMediaTypes(accept));
+        return stream("borrowings", format, output -> exportService.exportBorrowings(userId, bookId, output, format));
+    }
+
+    // The body is written on an async thread after the handler returns, straight from the cursor to the socket
+    private static ResponseEntity<StreamingResponseBody> stream(String name, ImportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + format.fileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.dto.ImportReport;
+import com.example.LibraryManagementSystem.service.BulkImportService;
+import com.example.LibraryManagementSystem.service.ImportFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping(value = "/imports", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+public class ImportController {
+
+    private final BulkImportService bulkImportService;
+
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    @PostMapping("/authors")
+    public ResponseEntity<ImportReport> importAuthors(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                      InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importAuthors(body, ImportFormat.of(contentType)));
+    }
+
+    @PostMapping("/books")
+    public ResponseEntity<ImportReport> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importBooks(body, ImportFormat.of(contentType)));
+    }
+
+    @PostMapping("/customers")
+    public ResponseEntity<ImportReport> importCustomers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                        InputStream body) {
+        return ResponseEntity.ok(bulkImportService.importCustomers(body, ImportFormat.of(contentType)));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.LibraryManagementSystem.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Who read-your-writes is tracked for: the authenticated user, or the client address for anonymous requests.
+ * Work outside a request (the outbox relay, scheduled scans) has no caller, so its writes hold nobody's reads.
+ */
+public final class CallerKeys {
+
+    private CallerKeys() {
+    }
+
+    public static String current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return "client:" + servlet.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
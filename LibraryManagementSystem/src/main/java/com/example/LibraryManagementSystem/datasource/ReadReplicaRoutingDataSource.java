@@ -0,0 +1,148 @@
+package com.example.LibraryManagementSystem.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else.
+ * The route is picked when a connection is requested, so this has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before it publishes the read-only flag, and the proxy only fetches the real one on the first statement.
+ * A replica trails the primary, so a caller's reads stay on the primary for {@code maxLag} after a transaction of
+ * theirs that actually changed data commits; other callers, and transactions that only read, keep using the
+ * replica. A replica that fails to hand out a connection is skipped for {@code retryAfter}. Either way the read is
+ * served, just not from the replica.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final int MAX_TRACKED_CALLERS = 1024;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long retryAfterMillis;
+    private final LongSupplier clock;
+    private final Supplier<String> caller;
+
+    // Per caller, until when their reads stay on the primary; entries past their deadline are dropped as it grows.
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+    private volatile long replicaDownUntil;
+
+    private final Counter replicaReads;
+    private final Counter primaryWrites;
+    private final Counter lagFallbacks;
+    private final Counter outageFallbacks;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag, Duration retryAfter,
+                                        MeterRegistry meterRegistry) {
+        this(primary, replica, maxLag, retryAfter, meterRegistry, System::currentTimeMillis, CallerKeys::current);
+    }
+
+    ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag, Duration retryAfter,
+                                 MeterRegistry meterRegistry, LongSupplier clock, Supplier<String> caller) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.clock = clock;
+        this.caller = caller;
+        this.replicaReads = routed(meterRegistry, "replica", "read-only");
+        this.primaryWrites = routed(meterRegistry, "primary", "read-write");
+        this.lagFallbacks = routed(meterRegistry, "primary", "replica-lag");
+        this.outageFallbacks = routed(meterRegistry, "primary", "replica-unavailable");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(target -> target.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        String key = caller.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryWrites.increment();
+            Connection connection = source.open(primary);
+            return key == null ? connection : WriteTrackingConnection.wrap(connection, () -> holdReadsAfterCommit(key));
+        }
+        long now = clock.getAsLong();
+        Long until = key != null ? primaryUntil.get(key) : null;
+        if (until != null && now < until) {
+            lagFallbacks.increment();
+            return source.open(primary);
+        }
+        if (now < replicaDownUntil) {
+            outageFallbacks.increment();
+            return source.open(primary);
+        }
+        Connection connection;
+        try {
+            connection = source.open(replica);
+        } catch (SQLException e) {
+            replicaDownUntil = now + retryAfterMillis;
+            log.warn("Read replica refused a connection, serving reads from the primary for the next {} ms", retryAfterMillis, e);
+            outageFallbacks.increment();
+            return source.open(primary);
+        }
+        replicaReads.increment();
+        return connection;
+    }
+
+    // Runs on the first statement that changes data. What a transaction writes only reaches the replica after it
+    // commits, so the lag window starts at completion; a completion of unknown outcome is treated as a commit.
+    // Outside a transaction the statement commits on its own, so the window starts right away.
+    private void holdReadsAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            holdReads(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    holdReads(key);
+                }
+            }
+        });
+    }
+
+    private void holdReads(String key) {
+        long now = clock.getAsLong();
+        primaryUntil.merge(key, now + maxLagMillis, Math::max);
+        if (primaryUntil.size() > MAX_TRACKED_CALLERS) {
+            primaryUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("library.datasource.connections")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private interface ConnectionSource {
+        Connection open(DataSource target) throws SQLException;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.LibraryManagementSystem.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Wraps a primary connection and reports the first statement that can change data, so a transaction that only
+ * read does not hold anyone's reads on the primary. Prepared SQL is classified when it is prepared, plain
+ * statements when their SQL is executed or batched; anything but a query counts as a write.
+ */
+final class WriteTrackingConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final Runnable onWrite;
+    private boolean wrote;
+
+    private WriteTrackingConnection(Connection target, Runnable onWrite) {
+        this.target = target;
+        this.onWrite = onWrite;
+    }
+
+    static Connection wrap(Connection target, Runnable onWrite) {
+        return (Connection) Proxy.newProxyInstance(WriteTrackingConnection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new WriteTrackingConnection(target, onWrite));
+    }
+
+    // The wrapped connection, for tests that check where a connection was routed.
+    static Connection targetOf(Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof WriteTrackingConnection tracking) {
+            return tracking.target;
+        }
+        return connection;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if ((name.equals("prepareStatement") || name.equals("prepareCall")) && args != null && args[0] instanceof String sql) {
+            classify(sql);
+        }
+        Object result = call(target, method, args);
+        if (name.equals("createStatement") && result instanceof Statement statement
+                && !(result instanceof PreparedStatement) && !(result instanceof CallableStatement)) {
+            return Proxy.newProxyInstance(WriteTrackingConnection.class.getClassLoader(), new Class<?>[]{Statement.class},
+                    (statementProxy, statementMethod, statementArgs) -> {
+                        if ((statementMethod.getName().startsWith("execute") || statementMethod.getName().equals("addBatch"))
+                                && statementArgs != null && statementArgs[0] instanceof String sql) {
+                            classify(sql);
+                        }
+                        return call(statement, statementMethod, statementArgs);
+                    });
+        }
+        return result;
+    }
+
+    private void classify(String sql) {
+        if (wrote) {
+            return;
+        }
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (!statement.startsWith("select") && !statement.startsWith("with") && !statement.startsWith("explain")) {
+            wrote = true;
+            onWrite.run();
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
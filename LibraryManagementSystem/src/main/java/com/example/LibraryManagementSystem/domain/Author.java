@@ -1,19 +1,23 @@
 package com.example.LibraryManagementSystem.domain;
 
+import com.example.LibraryManagementSystem.service.CatalogueChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 import java.util.List;
 
 @Entity
+@EntityListeners(CatalogueChangeListener.class)
 @Data
 public class Author {
     @Id
     @Column(name = "author_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @SequenceGenerator(name = "author_seq", allocationSize = 50)
     private Long id;
 
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -31,4 +35,11 @@ public class Author {
     @NotNull
     @Size(min = 1, max = 100, message = "nationality size must be between 1 and 100 characters")
     private String nationality;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastModified;
 }
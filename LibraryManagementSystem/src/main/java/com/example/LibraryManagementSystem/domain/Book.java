@@ -1,19 +1,23 @@
 package com.example.LibraryManagementSystem.domain;
 
+import com.example.LibraryManagementSystem.service.CatalogueChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 import java.util.List;
 
 @Entity
+@EntityListeners(CatalogueChangeListener.class)
 @Data
 public class Book {
     @Id
     @Column(name = "book_id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Book title cannot be null")
@@ -21,7 +25,7 @@ public class Book {
     private String title;
 
     @NotNull(message = "Book Author cannot be null")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private Author author;
 
@@ -41,5 +45,13 @@ public class Book {
 
     private Boolean available;
 
+    private long loanCount;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastModified;
 
 }
\ No newline at end of file
@@ -1,23 +1,27 @@
 package com.example.LibraryManagementSystem.domain;
 
+import com.example.LibraryManagementSystem.service.CatalogueChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.Date;
 
 @Entity
+@EntityListeners(CatalogueChangeListener.class)
 @Data
 public class BorrowingRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "borrowing_record_seq")
+    @SequenceGenerator(name = "borrowing_record_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id")
     private Book book;
 
@@ -27,6 +31,18 @@ public class BorrowingRecord {
     @Temporal(TemporalType.DATE)
     private Date returnDate;
 
+    @Temporal(TemporalType.DATE)
+    private Date dueDate;
+
+    private boolean overdue;
+
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastModified;
+
     // Getters and setters
     // ...
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.LibraryManagementSystem.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * One change to a book, author or loan, recorded in the transaction that made it. {@code position} stays null
+ * until the relay places the committed event in the stream.
+ */
+@Entity
+@Data
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    private Long position;
+
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    private String changeType;
+
+    private String payload;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+}
@@ -0,0 +1,16 @@
+package com.example.LibraryManagementSystem.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Last stream position a sink has accepted, or for the {@code relay} row the last position handed out.
+ */
+@Entity
+@Data
+public class OutboxOffset {
+    @Id
+    private String consumer;
+
+    private Long position;
+}
@@ -0,0 +1,22 @@
+package com.example.LibraryManagementSystem.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Position of the overdue scan in the {@code (due_date, id)} order of loans; everything up to and including it
+ * has been checked.
+ */
+@Entity
+@Data
+public class OverdueScanWatermark {
+    @Id
+    private Integer id;
+
+    @Temporal(TemporalType.DATE)
+    private Date dueDate;
+
+    private Long loanId;
+}
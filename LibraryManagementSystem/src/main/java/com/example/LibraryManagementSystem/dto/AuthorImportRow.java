@@ -0,0 +1,16 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Author;
+
+import java.util.Date;
+
+public record AuthorImportRow(String name, Date birthDate, String nationality) {
+
+    public Author toAuthor() {
+        Author author = new Author();
+        author.setName(name);
+        author.setBirthDate(birthDate);
+        author.setNationality(nationality);
+        return author;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Author;
+
+import java.util.Date;
+
+public record AuthorView(Long id, String name, Date birthDate, String nationality) {
+
+    public static AuthorView from(Author author) {
+        return new AuthorView(author.getId(), author.getName(), author.getBirthDate(), author.getNationality());
+    }
+}
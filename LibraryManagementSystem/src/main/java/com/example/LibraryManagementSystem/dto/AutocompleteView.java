@@ -0,0 +1,6 @@
+package com.example.LibraryManagementSystem.dto;
+
+import java.util.List;
+
+public record AutocompleteView(List<String> titles, List<String> authors) {
+}
@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BasketCheckoutRequest(@NotNull Long customerId, @NotEmpty List<@NotNull Long> bookIds) {
+}
@@ -0,0 +1,15 @@
+package com.example.LibraryManagementSystem.dto;
+
+/**
+ * One slot of a multi-get response: the requested id, whether it exists and, if so, the item.
+ */
+public record BatchItem<T>(Long id, boolean found, T item) {
+
+    public static <T> BatchItem<T> found(Long id, T item) {
+        return new BatchItem<>(id, true, item);
+    }
+
+    public static <T> BatchItem<T> missing(Long id) {
+        return new BatchItem<>(id, false, null);
+    }
+}
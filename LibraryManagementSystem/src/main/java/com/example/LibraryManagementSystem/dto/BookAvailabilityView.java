@@ -0,0 +1,6 @@
+package com.example.LibraryManagementSystem.dto;
+
+import java.util.List;
+
+public record BookAvailabilityView(List<Long> available, List<Long> unavailable, List<Long> unknown) {
+}
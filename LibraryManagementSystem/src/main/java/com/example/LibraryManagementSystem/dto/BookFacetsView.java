@@ -0,0 +1,10 @@
+package com.example.LibraryManagementSystem.dto;
+
+import org.springframework.hateoas.EntityModel;
+
+import java.util.List;
+import java.util.Map;
+
+public record BookFacetsView(long total, Map<String, Map<String, Integer>> facets, List<EntityModel<BookView>> books,
+                             String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+
+import java.util.Date;
+
+public record BookImportRow(String title, Long authorId, String isbn, Date publicationDate, String genre,
+                            Boolean available) {
+
+    public Book toBook(Author author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        book.setPublicationDate(publicationDate);
+        book.setGenre(genre);
+        book.setAvailable(available != null ? available : Boolean.TRUE);
+        return book;
+    }
+}
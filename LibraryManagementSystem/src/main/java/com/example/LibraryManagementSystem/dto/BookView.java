@@ -0,0 +1,15 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Book;
+
+import java.util.Date;
+
+public record BookView(Long id, String title, AuthorView author, String isbn, Date publicationDate, String genre,
+                       Boolean available) {
+
+    public static BookView from(Book book) {
+        AuthorView author = book.getAuthor() != null ? AuthorView.from(book.getAuthor()) : null;
+        return new BookView(book.getId(), book.getTitle(), author, book.getIsbn(), book.getPublicationDate(),
+                book.getGenre(), book.getAvailable());
+    }
+}
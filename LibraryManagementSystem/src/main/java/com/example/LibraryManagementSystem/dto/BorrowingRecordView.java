@@ -0,0 +1,26 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.domain.Customer;
+
+import java.util.Date;
+
+public record BorrowingRecordView(Long id, CustomerRef customer, BookRef book, Date borrowDate, Date returnDate,
+                                  Date dueDate, boolean overdue) {
+
+    public record CustomerRef(Long id, String name) {
+    }
+
+    public record BookRef(Long id, String title, String isbn) {
+    }
+
+    public static BorrowingRecordView from(BorrowingRecord record) {
+        Customer customer = record.getCustomer();
+        Book book = record.getBook();
+        return new BorrowingRecordView(record.getId(),
+                customer != null ? new CustomerRef(customer.getId(), customer.getName()) : null,
+                book != null ? new BookRef(book.getId(), book.getTitle(), book.getIsbn()) : null,
+                record.getBorrowDate(), record.getReturnDate(), record.getDueDate(), record.isOverdue());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Customer;
+
+public record CustomerImportRow(String name, String email, String address, String phoneNumber, String password) {
+
+    public CustomerImportRow withPassword(String encodedPassword) {
+        return new CustomerImportRow(name, email, address, phoneNumber, encodedPassword);
+    }
+
+    public Customer toCustomer() {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setAddress(address);
+        customer.setPhoneNumber(phoneNumber);
+        customer.setPassword(password);
+        return customer;
+    }
+}
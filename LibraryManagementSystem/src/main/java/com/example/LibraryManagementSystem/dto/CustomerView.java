@@ -0,0 +1,11 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Customer;
+
+public record CustomerView(Long id, String name, String email, String address, String phoneNumber) {
+
+    public static CustomerView from(Customer customer) {
+        return new CustomerView(customer.getId(), customer.getName(), customer.getEmail(), customer.getAddress(),
+                customer.getPhoneNumber());
+    }
+}
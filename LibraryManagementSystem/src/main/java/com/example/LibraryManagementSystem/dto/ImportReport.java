@@ -0,0 +1,9 @@
+package com.example.LibraryManagementSystem.dto;
+
+import java.util.List;
+
+public record ImportReport(long processed, long imported, long failed, List<RowError> errors) {
+
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.dto;
+
+import org.springframework.hateoas.EntityModel;
+
+import java.util.List;
+
+public record IsbnLookupView(String query, String isbn, boolean valid, List<EntityModel<BookView>> books) {
+}
@@ -0,0 +1,10 @@
+package com.example.LibraryManagementSystem.dto;
+
+import org.springframework.hateoas.EntityModel;
+
+/**
+ * One item of a basket checkout or batch return: the requested id, {@code OK}, {@code NOT_FOUND} or
+ * {@code CONFLICT}, why it failed and, when it went through, the loan it opened or closed.
+ */
+public record LoanResultView(Long id, String status, String message, EntityModel<BorrowingRecordView> record) {
+}
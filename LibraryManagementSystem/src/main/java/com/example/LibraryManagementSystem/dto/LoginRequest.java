@@ -0,0 +1,6 @@
+package com.example.LibraryManagementSystem.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record LoginRequest(@NotBlank String email, @NotBlank String password) {
+}
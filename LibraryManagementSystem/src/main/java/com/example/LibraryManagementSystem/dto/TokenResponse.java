@@ -0,0 +1,6 @@
+package com.example.LibraryManagementSystem.dto;
+
+import java.time.Instant;
+
+public record TokenResponse(String token, String tokenType, Instant expiresAt) {
+}
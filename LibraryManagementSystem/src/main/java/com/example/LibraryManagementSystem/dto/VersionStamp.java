@@ -0,0 +1,75 @@
+package com.example.LibraryManagementSystem.dto;
+
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.domain.Customer;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Validators of one representation: a strong entity tag made of the versions of every row it shows (a book also
+ * shows its author) and the latest of their modification times. The repositories build it straight from the
+ * version columns, so a conditional GET can be answered without loading the entities.
+ */
+public record VersionStamp(String etag, Date lastModified) {
+
+    public VersionStamp(Long version, Date lastModified) {
+        this(tag(version), lastModified);
+    }
+
+    public VersionStamp(Long version, Date lastModified, Long embeddedVersion, Date embeddedLastModified) {
+        this(tag(version, embeddedVersion), latest(lastModified, embeddedLastModified));
+    }
+
+    public VersionStamp(Long version, Date lastModified, Long firstEmbeddedVersion, Date firstEmbeddedLastModified,
+                        Long secondEmbeddedVersion, Date secondEmbeddedLastModified) {
+        this(tag(version, firstEmbeddedVersion, secondEmbeddedVersion),
+                latest(lastModified, firstEmbeddedLastModified, secondEmbeddedLastModified));
+    }
+
+    public static VersionStamp of(Book book) {
+        Author author = book.getAuthor();
+        return author == null
+                ? new VersionStamp(book.getVersion(), book.getLastModified(), null, null)
+                : new VersionStamp(book.getVersion(), book.getLastModified(), author.getVersion(), author.getLastModified());
+    }
+
+    public static VersionStamp of(Author author) {
+        return new VersionStamp(author.getVersion(), author.getLastModified());
+    }
+
+    public static VersionStamp of(Customer customer) {
+        return new VersionStamp(customer.getVersion(), customer.getLastModified());
+    }
+
+    public static VersionStamp of(BorrowingRecord record) {
+        Customer customer = record.getCustomer();
+        Book book = record.getBook();
+        return new VersionStamp(record.getVersion(), record.getLastModified(),
+                customer != null ? customer.getVersion() : null, customer != null ? customer.getLastModified() : null,
+                book != null ? book.getVersion() : null, book != null ? book.getLastModified() : null);
+    }
+
+    // Epoch millis for the Last-Modified header, or -1 when unknown.
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.getTime() : -1;
+    }
+
+    // An absent row (e.g. a loan without a customer) still takes a slot, so "1.0" and "1..0" cannot collide.
+    private static String tag(Long... versions) {
+        return Arrays.stream(versions)
+                .map(version -> version != null ? version.toString() : "")
+                .collect(Collectors.joining("."));
+    }
+
+    private static Date latest(Date... dates) {
+        return Arrays.stream(dates)
+                .filter(Objects::nonNull)
+                .max(Date::compareTo)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.exception;
+
+public class CheckoutConflictException extends RuntimeException {
+
+    public CheckoutConflictException(String message) {
+        super(message);
+    }
+}
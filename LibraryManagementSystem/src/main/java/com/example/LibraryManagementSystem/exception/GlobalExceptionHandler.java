@@ -2,6 +2,9 @@ package com.example.LibraryManagementSystem.exception;
 
 
 import org.springframework.http.HttpStatus;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,4 +30,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<?> invalidCursorHandling(InvalidCursorException exception, WebRequest request) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(CheckoutConflictException.class)
+    public ResponseEntity<?> checkoutConflictHandling(CheckoutConflictException exception, WebRequest request) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> dataIntegrityViolationHandling(DataIntegrityViolationException exception, WebRequest request) {
+        return new ResponseEntity<>("The request conflicts with existing data", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> passwordHashingBusyHandling(PasswordHashingBusyException exception, WebRequest request) {
+        return new ResponseEntity<>(exception.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler({DataAccessResourceFailureException.class, CannotCreateTransactionException.class})
+    public ResponseEntity<?> connectionPoolExhaustedHandling(RuntimeException exception, WebRequest request) {
+        return new ResponseEntity<>("Service is busy, please retry", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
 }
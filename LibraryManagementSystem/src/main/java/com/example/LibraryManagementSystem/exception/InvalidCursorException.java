@@ -0,0 +1,8 @@
+package com.example.LibraryManagementSystem.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid page cursor: " + cursor);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.LibraryManagementSystem.metrics;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds {@link SqlCounters} from inside Hibernate: every statement it prepares passes through
+ * {@link #inspect(String)} and every entity it builds from a row fires {@link #onPostLoad(PostLoadEvent)}.
+ * The JDBC objects themselves are never wrapped, so statements and result sets run unobserved.
+ */
+public class HibernateSqlCounter implements StatementInspector, PostLoadEventListener {
+
+    @Override
+    public String inspect(String sql) {
+        SqlCounters counters = SqlCounters.current();
+        if (counters != null) {
+            counters.statementExecuted();
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        SqlCounters counters = SqlCounters.current();
+        if (counters != null) {
+            counters.entityLoaded();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.LibraryManagementSystem.metrics;
+
+/**
+ * Per-thread tally of the SQL statements executed and entities loaded while a request is being served.
+ * Counting only happens inside {@link #open()}/{@link #close()}, so work outside a request costs nothing.
+ */
+public final class SqlCounters {
+
+    private static final ThreadLocal<SqlCounters> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entities;
+
+    private SqlCounters() {
+    }
+
+    public static SqlCounters open() {
+        SqlCounters counters = new SqlCounters();
+        CURRENT.set(counters);
+        return counters;
+    }
+
+    public static SqlCounters current() {
+        return CURRENT.get();
+    }
+
+    public void close() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entities++;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long entities() {
+        return entities;
+    }
+}
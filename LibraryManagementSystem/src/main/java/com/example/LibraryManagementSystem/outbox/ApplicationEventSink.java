@@ -0,0 +1,31 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Hands every event to the application's {@code @EventListener ChangeEvent} methods, one at a time and on the
+ * relay's thread. A listener that throws fails the batch, and its events are offered again on the next run.
+ */
+@Component
+public class ApplicationEventSink implements ChangeEventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public int publish(List<ChangeEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+        return events.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import com.example.LibraryManagementSystem.domain.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.Date;
+
+/**
+ * A committed change as the stream carries it. {@code position} orders the stream and is what consumers resume from;
+ * {@code payload} is the JSON of the changed resource as the API shows it, or just its id for a deletion.
+ */
+@Relation(collectionRelation = "events")
+public record ChangeEvent(long position, Aggregate aggregate, Long aggregateId, Change change, Date occurredAt,
+                          @JsonRawValue String payload) {
+
+    public enum Aggregate {
+        BOOK, AUTHOR, LOAN
+    }
+
+    public enum Change {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ChangeEvent from(OutboxEvent event) {
+        return new ChangeEvent(event.getPosition(), Aggregate.valueOf(event.getAggregateType()), event.getAggregateId(),
+                Change.valueOf(event.getChangeType()), event.getCreatedAt(), event.getPayload());
+    }
+}
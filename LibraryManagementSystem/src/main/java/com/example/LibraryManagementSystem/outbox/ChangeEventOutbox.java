@@ -0,0 +1,108 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.domain.OutboxEvent;
+import com.example.LibraryManagementSystem.dto.AuthorView;
+import com.example.LibraryManagementSystem.dto.BookView;
+import com.example.LibraryManagementSystem.dto.BorrowingRecordView;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.repo.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records change events in the transaction of the change itself, so an event exists exactly when its change
+ * committed. Events are plain inserts flushed with the rest of the unit of work; the {@link OutboxRelay} places and
+ * delivers them after the commit.
+ */
+@Component
+public class ChangeEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    // Synchronizations are kept in a set, so registering this one per event still runs it once per transaction.
+    private final TransactionSynchronization wakeRelay = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            recorded.set(true);
+        }
+    };
+
+    public ChangeEventOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookChanged(Book book, Change change) {
+        record(Aggregate.BOOK, book.getId(), change, BookView.from(book));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void authorChanged(Author author, Change change) {
+        record(Aggregate.AUTHOR, author.getId(), change, AuthorView.from(author));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void loanChanged(BorrowingRecord record, Change change) {
+        record(Aggregate.LOAN, record.getId(), change, BorrowingRecordView.from(record));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Aggregate aggregate, Long id) {
+        record(aggregate, id, Change.DELETED, Map.of("id", id));
+    }
+
+    /**
+     * Placed events after {@code position}, for consumers that pull the stream and keep their own offset.
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEvent> eventsAfter(long position, int size) {
+        return outboxEventRepository.findByPositionGreaterThanOrderByPositionAsc(position, Limit.of(size)).stream()
+                .map(ChangeEvent::from)
+                .toList();
+    }
+
+    /**
+     * Whether events were committed since the last call; lets the relay skip its polls while nothing happens.
+     */
+    boolean takeRecorded() {
+        return recorded.getAndSet(false);
+    }
+
+    private void record(Aggregate aggregate, Long id, Change change, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregate.name());
+        event.setAggregateId(id);
+        event.setChangeType(change.name());
+        event.setPayload(toJson(payload));
+        event.setCreatedAt(new Date());
+        outboxEventRepository.save(event);
+        TransactionSynchronizationManager.registerSynchronization(wakeRelay);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import java.util.List;
+
+/**
+ * Destination the {@link OutboxRelay} delivers the change stream to. Each sink has its own offset, so a slow or
+ * failing sink neither holds back the others nor loses events; delivery is at least once and in position order.
+ */
+public interface ChangeEventSink {
+
+    /**
+     * Identifies the sink's offset; renaming a sink starts it over from the oldest retained event.
+     */
+    String name();
+
+    /**
+     * Delivers a batch and returns how many of its leading events were accepted. Accepting fewer than all of them
+     * is backpressure: the relay stops feeding this sink until its next run and resumes after the last accepted
+     * event. Throwing makes the relay retry the same batch later, backing off exponentially.
+     */
+    int publish(List<ChangeEvent> events) throws Exception;
+}
@@ -0,0 +1,50 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import com.example.LibraryManagementSystem.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Stand-in for a message broker topic: a bounded in-memory queue that consumers drain with {@link #poll(int)}.
+ * Once the queue is full it accepts nothing more, which holds the sink's offset back until consumers catch up;
+ * events still queued are lost on shutdown and delivered again from the offset after a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "library.outbox.broker.enabled", havingValue = "true")
+public class LocalBrokerSink implements ChangeEventSink {
+
+    private final BlockingQueue<ChangeEvent> queue;
+
+    public LocalBrokerSink(OutboxProperties properties) {
+        this.queue = new ArrayBlockingQueue<>(properties.broker().capacity());
+    }
+
+    @Override
+    public String name() {
+        return "broker";
+    }
+
+    @Override
+    public int publish(List<ChangeEvent> events) {
+        int accepted = 0;
+        while (accepted < events.size() && queue.offer(events.get(accepted))) {
+            accepted++;
+        }
+        return accepted;
+    }
+
+    public List<ChangeEvent> poll(int max) {
+        List<ChangeEvent> events = new ArrayList<>(Math.min(max, queue.size()));
+        queue.drainTo(events, max);
+        return events;
+    }
+
+    public int backlog() {
+        return queue.size();
+    }
+}
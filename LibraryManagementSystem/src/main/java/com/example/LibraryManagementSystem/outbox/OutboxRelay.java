@@ -0,0 +1,231 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import com.example.LibraryManagementSystem.config.OutboxProperties;
+import com.example.LibraryManagementSystem.domain.OutboxEvent;
+import com.example.LibraryManagementSystem.domain.OutboxOffset;
+import com.example.LibraryManagementSystem.repo.OutboxEventRepository;
+import com.example.LibraryManagementSystem.repo.OutboxOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves committed outbox events to the sinks. Each run first places new events in the stream, giving them the next
+ * positions under a lock on the {@code relay} offset row, so positions are gap-free and never reused even with
+ * several instances relaying. It then feeds every sink from its own stored offset, in batches of
+ * {@code library.outbox.batch-size}, and advances that offset past what the sink accepted.
+ * <p>
+ * Polls are cheap when idle: a tick only touches the database after a local commit recorded events, while a sink
+ * has work left over from backpressure or a failure, or once per {@code sweep-interval} to pick up events committed
+ * on other instances and purge those every sink has seen.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String RELAY = "relay";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxOffsetRepository outboxOffsetRepository;
+    private final ChangeEventOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Map<String, SinkState> sinks = new LinkedHashMap<>();
+    private final AtomicLong head = new AtomicLong();
+    private final Counter placed;
+    private volatile long nextSweep;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxOffsetRepository outboxOffsetRepository,
+                       ChangeEventOutbox outbox, List<ChangeEventSink> sinks, PlatformTransactionManager transactionManager,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxOffsetRepository = outboxOffsetRepository;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        for (ChangeEventSink sink : sinks) {
+            this.sinks.put(sink.name(), new SinkState(sink, meterRegistry));
+        }
+        this.placed = Counter.builder("library.outbox.events.placed")
+                .description("Outbox events given a stream position")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.poll-interval:PT1S}", initialDelayString = "${library.outbox.poll-interval:PT1S}")
+    public void relayScheduled() {
+        long now = System.currentTimeMillis();
+        boolean pending = outbox.takeRecorded() || now >= nextSweep
+                || sinks.values().stream().anyMatch(state -> state.due(now));
+        if (pending) {
+            relay();
+        }
+    }
+
+    /**
+     * Places every committed event not yet in the stream and delivers to each sink that is not backing off.
+     *
+     * @return the number of events placed in the stream by this run
+     */
+    public synchronized long relay() {
+        long now = System.currentTimeMillis();
+        long placedEvents = place();
+        sinks.values().forEach(state -> deliver(state, now));
+        if (now >= nextSweep) {
+            nextSweep = now + properties.sweepInterval().toMillis();
+            purge(now);
+        }
+        return placedEvents;
+    }
+
+    private long place() {
+        long total = 0;
+        int batch;
+        int batches = 0;
+        do {
+            batch = transactionTemplate.execute(status -> placeBatch());
+            total += batch;
+        } while (batch == properties.batchSize() && ++batches < properties.maxBatchesPerRun());
+        placed.increment(total);
+        return total;
+    }
+
+    // The locked relay row makes instances take turns, and the head only moves together with the positions it covers.
+    private int placeBatch() {
+        OutboxOffset relay = outboxOffsetRepository.findForUpdateByConsumer(RELAY)
+                .orElseThrow(() -> new IllegalStateException("Outbox relay offset is missing"));
+        List<OutboxEvent> events = outboxEventRepository.findByPositionIsNullOrderByCreatedAtAscIdAsc(
+                Limit.of(properties.batchSize()));
+        long position = relay.getPosition();
+        for (OutboxEvent event : events) {
+            event.setPosition(++position);
+        }
+        relay.setPosition(position);
+        head.set(position);
+        return events.size();
+    }
+
+    private void deliver(SinkState state, long now) {
+        if (now < state.retryAt) {
+            return;
+        }
+        String name = state.sink.name();
+        try {
+            for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+                Pending pending = transactionTemplate.execute(status -> pending(name));
+                state.offset.set(pending.offset());
+                if (pending.events().isEmpty()) {
+                    state.caughtUp = true;
+                    state.failures = 0;
+                    return;
+                }
+
+                int accepted = Math.min(state.sink.publish(pending.events()), pending.events().size());
+                state.failures = 0;
+                if (accepted > 0) {
+                    long position = pending.events().get(accepted - 1).position();
+                    Integer advanced = transactionTemplate.execute(status ->
+                            outboxOffsetRepository.advance(name, pending.offset(), position));
+                    if (advanced != null && advanced > 0) {
+                        state.offset.set(position);
+                        state.published.increment(accepted);
+                    }
+                }
+                if (accepted < pending.events().size()) {
+                    // Backpressure: the rest waits for the next tick rather than being pushed at a sink that is full.
+                    state.caughtUp = false;
+                    return;
+                }
+            }
+            state.caughtUp = false;
+        } catch (Exception e) {
+            state.failed(now, properties.maxBackoff().toMillis());
+            log.warn("Delivering change events to sink '{}' failed, retrying in {} ms", name, state.retryAt - now, e);
+        }
+    }
+
+    private Pending pending(String name) {
+        OutboxOffset offset = outboxOffsetRepository.findById(name).orElseGet(() -> {
+            // A new sink starts from the oldest event still retained.
+            OutboxOffset created = new OutboxOffset();
+            created.setConsumer(name);
+            created.setPosition(0L);
+            return outboxOffsetRepository.save(created);
+        });
+        List<ChangeEvent> events = outboxEventRepository
+                .findByPositionGreaterThanOrderByPositionAsc(offset.getPosition(), Limit.of(properties.batchSize()))
+                .stream()
+                .map(ChangeEvent::from)
+                .toList();
+        return new Pending(offset.getPosition(), events);
+    }
+
+    // Only events every configured sink has accepted go, and only once they are past retention, so a consumer of
+    // GET /events that keeps its own offset can still resume within that window.
+    private void purge(long now) {
+        long delivered = sinks.values().stream().mapToLong(state -> state.offset.get()).min().orElse(head.get());
+        if (delivered == 0) {
+            return;
+        }
+        Date before = new Date(now - properties.retention().toMillis());
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deletePublished(delivered, before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered change events", purged);
+        }
+    }
+
+    private record Pending(long offset, List<ChangeEvent> events) {
+    }
+
+    private final class SinkState {
+
+        private final ChangeEventSink sink;
+        private final AtomicLong offset = new AtomicLong();
+        private final Counter published;
+        private final Counter failuresCounter;
+        private volatile boolean caughtUp = true;
+        private volatile int failures;
+        private volatile long retryAt;
+
+        private SinkState(ChangeEventSink sink, MeterRegistry meterRegistry) {
+            this.sink = sink;
+            this.published = Counter.builder("library.outbox.events.published")
+                    .description("Change events a sink accepted")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry);
+            this.failuresCounter = Counter.builder("library.outbox.delivery.failures")
+                    .description("Failed deliveries of a batch of change events")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry);
+            Gauge.builder("library.outbox.lag", this, state -> Math.max(0, head.get() - state.offset.get()))
+                    .description("Placed change events a sink has not accepted yet")
+                    .tag("sink", sink.name())
+                    .register(meterRegistry);
+        }
+
+        private boolean due(long now) {
+            return (!caughtUp || failures > 0) && now >= retryAt;
+        }
+
+        // 1s, 2s, 4s, ... up to max-backoff
+        private void failed(long now, long maxBackoff) {
+            failures++;
+            failuresCounter.increment();
+            long backoff = 1000L << Math.min(failures - 1, 30);
+            retryAt = now + Math.min(backoff, maxBackoff);
+        }
+    }
+}
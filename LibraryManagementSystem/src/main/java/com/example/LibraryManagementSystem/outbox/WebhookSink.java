@@ -0,0 +1,55 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import com.example.LibraryManagementSystem.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to {@code library.outbox.webhook.url}. Any 2xx accepts the whole batch;
+ * 429 and 503 are the receiver asking to slow down, so the batch waits for the next run; every other status is a
+ * failure and the batch is retried with backoff. Receivers should skip positions they have already seen.
+ */
+@Component
+@ConditionalOnProperty("library.outbox.webhook.url")
+public class WebhookSink implements ChangeEventSink {
+
+    private final RestClient restClient;
+
+    public WebhookSink(RestClient.Builder restClientBuilder, OutboxProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.webhook().timeout());
+        requestFactory.setReadTimeout(properties.webhook().timeout());
+        this.restClient = restClientBuilder
+                .baseUrl(properties.webhook().url())
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public int publish(List<ChangeEvent> events) {
+        return restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        return events.size();
+                    }
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                            || response.getStatusCode().isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)) {
+                        return 0;
+                    }
+                    throw new IllegalStateException("Webhook answered " + response.getStatusCode());
+                });
+    }
+}
@@ -1,9 +1,25 @@
 package com.example.LibraryManagementSystem.repo;
 
 import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AuthorRepository extends JpaRepository<Author, Long> {
-}
\ No newline at end of file
+
+    Slice<Author> findAllBy(Pageable pageable);
+
+    List<Author> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select new com.example.LibraryManagementSystem.dto.VersionStamp(a.version, a.lastModified) from Author a where a.id = :id")
+    Optional<VersionStamp> findVersionById(@Param("id") Long id);
+}
@@ -1,15 +1,43 @@
 package com.example.LibraryManagementSystem.repo;
 
 import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
-    List<Book> findByTitleContainingIgnoreCase(String title);
-    List<Book> findByAuthorNameContainingIgnoreCase(String author);
-    List<Book> findByIsbnContaining(String isbn);
-}
\ No newline at end of file
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Optional<Book> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Page<Book> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    Slice<Book> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findByIdIn(Collection<Long> ids);
+
+    // Validators of GET /books/{id} without loading the book; its representation embeds the author
+    @Query("select new com.example.LibraryManagementSystem.dto.VersionStamp(b.version, b.lastModified, a.version, a.lastModified)"
+            + " from Book b join b.author a where b.id = :id")
+    Optional<VersionStamp> findVersionById(@Param("id") Long id);
+}
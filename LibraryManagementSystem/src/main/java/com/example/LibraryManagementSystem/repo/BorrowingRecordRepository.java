@@ -1,18 +1,68 @@
 package com.example.LibraryManagementSystem.repo;
 
 import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"customer", "book"})
+    Optional<BorrowingRecord> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"customer", "book"})
+    Page<BorrowingRecord> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "book"})
     List<BorrowingRecord> findByCustomerId(Long customerId);
 
+    @EntityGraph(attributePaths = {"customer", "book"})
     List<BorrowingRecord> findByBookId(Long bookId);
 
+    @EntityGraph(attributePaths = {"customer", "book", "book.author"})
+    List<BorrowingRecord> findByIdIn(Collection<Long> ids);
+
     boolean existsByBookIdAndReturnDateIsNull(Long bookId);
 
+    // Validators of GET /borrowings/{id}; the record shows its customer's name and its book's title
+    @Query("select new com.example.LibraryManagementSystem.dto.VersionStamp(r.version, r.lastModified, c.version, c.lastModified, b.version, b.lastModified)"
+            + " from BorrowingRecord r left join r.customer c left join r.book b where r.id = :id")
+    Optional<VersionStamp> findVersionById(@Param("id") Long id);
+
+    @Query("select r.book.id from BorrowingRecord r where r.book.id in :bookIds and r.returnDate is null")
+    List<Long> findOpenLoanBookIds(@Param("bookIds") Collection<Long> bookIds);
+
+    @EntityGraph(attributePaths = {"customer", "book"})
+    Slice<BorrowingRecord> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "book"})
+    List<BorrowingRecord> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Keyset walk of the (return_date, due_date, id) index: open loans after the given position that fell due
+    // before the cut-off
+    @Query("select r from BorrowingRecord r where r.returnDate is null and r.dueDate >= :dueDate"
+            + " and (r.dueDate > :dueDate or r.id > :id) and r.dueDate < :before order by r.dueDate, r.id")
+    List<BorrowingRecord> findDueAfter(@Param("dueDate") Date dueDate, @Param("id") Long id, @Param("before") Date before, Limit limit);
+
+    // A bulk update skips the entity lifecycle, so it bumps the version and modification time itself
+    @Modifying
+    @Query("update BorrowingRecord r set r.overdue = true, r.version = r.version + 1, r.lastModified = current_timestamp"
+            + " where r.id in :ids and r.returnDate is null")
+    int markOverdue(@Param("ids") Collection<Long> ids);
 }
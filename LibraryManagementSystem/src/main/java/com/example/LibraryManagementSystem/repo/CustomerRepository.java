@@ -1,9 +1,27 @@
 package com.example.LibraryManagementSystem.repo;
 
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-}
\ No newline at end of file
+
+    Slice<Customer> findAllBy(Pageable pageable);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    Optional<Customer> findByEmail(String email);
+
+    @Query("select new com.example.LibraryManagementSystem.dto.VersionStamp(c.version, c.lastModified) from Customer c where c.id = :id")
+    Optional<VersionStamp> findVersionById(@Param("id") Long id);
+}
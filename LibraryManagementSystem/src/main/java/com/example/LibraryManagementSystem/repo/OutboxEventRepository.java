@@ -0,0 +1,25 @@
+package com.example.LibraryManagementSystem.repo;
+
+import com.example.LibraryManagementSystem.domain.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Committed events the relay has not placed yet, in the order they were recorded
+    List<OutboxEvent> findByPositionIsNullOrderByCreatedAtAscIdAsc(Limit limit);
+
+    List<OutboxEvent> findByPositionGreaterThanOrderByPositionAsc(Long position, Limit limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.position <= :position and e.createdAt < :before")
+    int deletePublished(@Param("position") Long position, @Param("before") Date before);
+}
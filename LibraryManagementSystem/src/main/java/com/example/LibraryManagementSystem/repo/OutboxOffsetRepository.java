@@ -0,0 +1,24 @@
+package com.example.LibraryManagementSystem.repo;
+
+import com.example.LibraryManagementSystem.domain.OutboxOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<OutboxOffset> findForUpdateByConsumer(String consumer);
+
+    // Compare-and-set, so a relay on another instance that delivered the same batch cannot move an offset backwards
+    @Modifying
+    @Query("update OutboxOffset o set o.position = :position where o.consumer = :consumer and o.position = :expected")
+    int advance(@Param("consumer") String consumer, @Param("expected") Long expected, @Param("position") Long position);
+}
@@ -0,0 +1,16 @@
+package com.example.LibraryManagementSystem.repo;
+
+import com.example.LibraryManagementSystem.domain.OverdueScanWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OverdueScanWatermarkRepository extends JpaRepository<OverdueScanWatermark, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<OverdueScanWatermark> findForUpdateById(Integer id);
+}
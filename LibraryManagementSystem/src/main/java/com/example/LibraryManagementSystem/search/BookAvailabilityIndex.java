@@ -0,0 +1,114 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.dto.BookAvailabilityView;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Catalogue-wide shelf bitmap: one bit per book id for "is catalogued" and one for "is on the shelf".
+ * Book ids come from a sequence, so they are dense and a plain bitset costs about two bits per book,
+ * which keeps a bulk availability check to a handful of word lookups with no database round trip.
+ * It is fed by {@link BookSearchIndex}, so it follows the same rebuild and after-commit updates.
+ */
+@Component
+public class BookAvailabilityIndex {
+
+    private BitSet catalogued = new BitSet();
+    private BitSet onShelf = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long bookId, Boolean available) {
+        if (!indexable(bookId)) {
+            return;
+        }
+        int bit = bookId.intValue();
+        lock.writeLock().lock();
+        try {
+            catalogued.set(bit);
+            onShelf.set(bit, Boolean.TRUE.equals(available));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Only books that are already catalogued are touched, so a late after-commit hook cannot resurrect a deleted book.
+    public void updateAvailability(Long bookId, Boolean available) {
+        if (!indexable(bookId)) {
+            return;
+        }
+        int bit = bookId.intValue();
+        lock.writeLock().lock();
+        try {
+            if (catalogued.get(bit)) {
+                onShelf.set(bit, Boolean.TRUE.equals(available));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        if (!indexable(bookId)) {
+            return;
+        }
+        int bit = bookId.intValue();
+        lock.writeLock().lock();
+        try {
+            catalogued.clear(bit);
+            onShelf.clear(bit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Takes over the bitmaps of an index filled off to the side by a rebuild.
+    void replaceWith(BookAvailabilityIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            catalogued = rebuilt.catalogued;
+            onShelf = rebuilt.onShelf;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BookAvailabilityView lookup(Collection<Long> bookIds) {
+        List<Long> available = new ArrayList<>();
+        List<Long> unavailable = new ArrayList<>();
+        List<Long> unknown = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : bookIds) {
+                if (!indexable(id) || !catalogued.get(id.intValue())) {
+                    unknown.add(id);
+                } else if (onShelf.get(id.intValue())) {
+                    available.add(id);
+                } else {
+                    unavailable.add(id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new BookAvailabilityView(available, unavailable, unknown);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return catalogued.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean indexable(Long bookId) {
+        return bookId != null && bookId >= 0 && bookId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Facet postings for catalogue browsing: every facet value maps to a bitmap of the book ids carrying it,
+ * next to a running count. Unfiltered counts are read straight from those counters; a filtered browse
+ * ANDs/ORs the bitmaps of the selected values, so no request ever groups over the book table. The bitmaps
+ * are plain {@code long[]} words, so a value's count under a filter is a popcount of the words it shares with
+ * the filter, without building the intersection.
+ * Only {@link BookSearchIndex} writes to it: it is cleared and refilled on every rebuild, and each book the
+ * search index adds or drops is added to or removed from the postings under the search index's write lock.
+ */
+@Component
+public class BookFacetIndex {
+
+    public enum Facet {
+        GENRE("genre", Book::getGenre),
+        YEAR("year", book -> yearOf(book.getPublicationDate())),
+        AVAILABLE("available", book -> book.getAvailable() != null ? book.getAvailable().toString() : null),
+        NATIONALITY("nationality", book -> book.getAuthor() != null ? book.getAuthor().getNationality() : null);
+
+        private final String parameter;
+        private final Function<Book, String> extractor;
+
+        Facet(String parameter, Function<Book, String> extractor) {
+            this.parameter = parameter;
+            this.extractor = extractor;
+        }
+
+        public String parameter() {
+            return parameter;
+        }
+    }
+
+    /**
+     * One page of matching book ids in id order, the total number of matches and, per facet, how many
+     * matches each value would have if that facet's own selection were lifted (multi-select faceting).
+     */
+    public record Result(List<Long> ids, boolean hasNext, long total, Map<Facet, Map<String, Integer>> counts) {
+    }
+
+    private Posting catalogued = new Posting();
+    private Map<Facet, Map<String, Posting>> postings = new EnumMap<>(Facet.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public BookFacetIndex() {
+        for (Facet facet : Facet.values()) {
+            postings.put(facet, new HashMap<>());
+        }
+    }
+
+    public void add(Book book) {
+        if (!indexable(book.getId())) {
+            return;
+        }
+        int bit = book.getId().intValue();
+        lock.writeLock().lock();
+        try {
+            catalogued.add(bit);
+            for (Facet facet : Facet.values()) {
+                String value = facet.extractor.apply(book);
+                if (value != null) {
+                    postings.get(facet).computeIfAbsent(value, key -> new Posting()).add(bit);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Takes the previously indexed copy, so only the postings it was actually filed under are touched.
+    public void remove(Book book) {
+        if (!indexable(book.getId())) {
+            return;
+        }
+        int bit = book.getId().intValue();
+        lock.writeLock().lock();
+        try {
+            catalogued.remove(bit);
+            for (Facet facet : Facet.values()) {
+                String value = facet.extractor.apply(book);
+                Posting posting = value != null ? postings.get(facet).get(value) : null;
+                if (posting != null && posting.remove(bit)) {
+                    postings.get(facet).remove(value);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Takes over the postings of an index filled off to the side by a rebuild.
+    void replaceWith(BookFacetIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            catalogued = rebuilt.catalogued;
+            postings = rebuilt.postings;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Values within one facet are OR-ed, facets are AND-ed. Ids after {@code afterId} are returned,
+     * at most {@code limit} of them.
+     */
+    public Result browse(Map<Facet, Set<String>> filters, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int words = catalogued.words.length;
+            Map<Facet, long[]> selections = new EnumMap<>(Facet.class);
+            filters.forEach((facet, values) -> {
+                if (!values.isEmpty()) {
+                    selections.put(facet, union(facet, values, words));
+                }
+            });
+
+            long[] matches = intersect(selections, null, new long[words]);
+            // Each facet's base is built in the same scratch words, since its counts are taken before the next one.
+            long[] scratch = new long[words];
+            Map<Facet, Map<String, Integer>> counts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                counts.put(facet, count(facet, selections, scratch));
+            }
+
+            List<Long> ids = new ArrayList<>(limit);
+            int from = (int) Math.min(Math.max(afterId + 1, 0), Integer.MAX_VALUE);
+            int bit = nextSetBit(matches, from);
+            while (bit >= 0 && ids.size() < limit) {
+                ids.add((long) bit);
+                bit = bit == Integer.MAX_VALUE ? -1 : nextSetBit(matches, bit + 1);
+            }
+            long total = selections.isEmpty() ? catalogued.count : cardinality(matches);
+            return new Result(ids, bit >= 0, total, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] union(Facet facet, Set<String> values, int words) {
+        long[] union = new long[words];
+        for (String value : values) {
+            Posting posting = postings.get(facet).get(value);
+            if (posting != null) {
+                long[] ids = posting.words;
+                for (int i = 0, shared = Math.min(words, ids.length); i < shared; i++) {
+                    union[i] |= ids[i];
+                }
+            }
+        }
+        return union;
+    }
+
+    // Without any selection to apply the live catalogue words are returned as is; callers only read them.
+    // Otherwise the intersection is written into {@code into}, which must be as long as the catalogue words.
+    private long[] intersect(Map<Facet, long[]> selections, Facet skipped, long[] into) {
+        if (selections.isEmpty() || selections.size() == 1 && selections.containsKey(skipped)) {
+            return catalogued.words;
+        }
+        System.arraycopy(catalogued.words, 0, into, 0, into.length);
+        selections.forEach((facet, selection) -> {
+            if (facet != skipped) {
+                for (int i = 0; i < into.length; i++) {
+                    into[i] &= selection[i];
+                }
+            }
+        });
+        return into;
+    }
+
+    private Map<String, Integer> count(Facet facet, Map<Facet, long[]> selections, long[] scratch) {
+        boolean constrained = selections.keySet().stream().anyMatch(other -> other != facet);
+        long[] base = constrained ? intersect(selections, facet, scratch) : null;
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        postings.get(facet).forEach((value, posting) -> {
+            int count = base == null ? posting.count : intersectionSize(posting.words, base);
+            if (count > 0) {
+                entries.add(Map.entry(value, count));
+            }
+        });
+        entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        entries.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private static int intersectionSize(long[] a, long[] b) {
+        int count = 0;
+        for (int i = 0, shared = Math.min(a.length, b.length); i < shared; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+
+    private static int cardinality(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int nextSetBit(long[] words, int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+        return word * 64 + Long.numberOfTrailingZeros(bits);
+    }
+
+    // java.sql.Date rejects toInstant(), so the year is read through a Calendar for both Date flavours.
+    private static String yearOf(Date date) {
+        if (date == null) {
+            return null;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        return Integer.toString(calendar.get(Calendar.YEAR));
+    }
+
+    private static boolean indexable(Long bookId) {
+        return bookId != null && bookId >= 0 && bookId <= Integer.MAX_VALUE;
+    }
+
+    // Bit i of words[i / 64] is set when book id i carries the value; the array grows by doubling.
+    private static final class Posting {
+
+        private long[] words = new long[0];
+        private int count;
+
+        void add(int bit) {
+            int word = bit >>> 6;
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            long mask = 1L << bit;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                count++;
+            }
+        }
+
+        // Returns true once the posting is empty and can be dropped.
+        boolean remove(int bit) {
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            if (word < words.length && (words[word] & mask) != 0) {
+                words[word] &= ~mask;
+                count--;
+            }
+            return count == 0;
+        }
+
+    }
+}
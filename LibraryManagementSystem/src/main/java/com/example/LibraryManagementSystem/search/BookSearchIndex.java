@@ -0,0 +1,493 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.config.SearchProperties;
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.repo.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory n-gram inverted index over book title, author name and ISBN.
+ * Every 1..3 character gram of a field maps to the sorted ids of the books containing it, so a
+ * substring query only has to walk a few posting lists in step and verify the survivors
+ * instead of running a {@code LIKE '%x%'} scan. A query returns at most {@code max-search-results}
+ * books, lowest ids first, and stops reading the postings once it has them.
+ * Title and author name together also feed a {@link TrigramField} for typo-tolerant, ranked search.
+ * Every change is mirrored into the {@link BookAvailabilityIndex} shelf bitmap, the {@link BookFacetIndex},
+ * the {@link CompletionIndex} and the {@link IsbnIndex}.
+ * <p>
+ * A rebuild reads the books in keyset pages into a fresh {@link Catalogue} without holding the lock, so searches
+ * keep being served from the old one. Changes made meanwhile are applied to the old catalogue and queued, then
+ * replayed onto the new one just before it is swapped in under a short write lock.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    static final int MAX_GRAM = 3;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final BookAvailabilityIndex availabilityIndex;
+    private final BookFacetIndex facetIndex;
+    private final CompletionIndex completionIndex;
+    private final IsbnIndex isbnIndex;
+    private final double minSimilarity;
+    private final int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Catalogue catalogue;
+    // Changes made while a rebuild is reading the books; null when no rebuild runs.
+    private List<Consumer<Catalogue>> pending;
+
+    public BookSearchIndex(BookRepository bookRepository, BookAvailabilityIndex availabilityIndex, BookFacetIndex facetIndex,
+                           CompletionIndex completionIndex, IsbnIndex isbnIndex, SearchProperties properties) {
+        this.bookRepository = bookRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.facetIndex = facetIndex;
+        this.completionIndex = completionIndex;
+        this.isbnIndex = isbnIndex;
+        this.minSimilarity = properties.minSimilarity();
+        this.maxResults = properties.maxSearchResults();
+        this.catalogue = new Catalogue(availabilityIndex, facetIndex, completionIndex, isbnIndex);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Catalogue rebuilt = new Catalogue(new BookAvailabilityIndex(), new BookFacetIndex(), new CompletionIndex(), new IsbnIndex());
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            load(rebuilt);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int size;
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            availabilityIndex.replaceWith(rebuilt.availability);
+            facetIndex.replaceWith(rebuilt.facets);
+            completionIndex.replaceWith(rebuilt.completions);
+            isbnIndex.replaceWith(rebuilt.isbns);
+            catalogue = rebuilt.feeding(availabilityIndex, facetIndex, completionIndex, isbnIndex);
+            size = catalogue.documents.size();
+        } finally {
+            pending = null;
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} books for search in {} ms; autocomplete takes about {} KB", size,
+                System.currentTimeMillis() - start, completionIndex.estimatedBytes() / 1024);
+    }
+
+    // Keyset pages, so each page is an index range scan instead of skipping over every earlier row.
+    private void load(Catalogue rebuilt) {
+        long lastId = Long.MIN_VALUE;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_PAGE_SIZE));
+            page.forEach(rebuilt::add);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+    }
+
+    public void index(Book book) {
+        Book document = copyOf(book);
+        change(current -> current.index(document));
+    }
+
+    public void remove(Long bookId) {
+        change(current -> current.remove(bookId));
+    }
+
+    public void updateAvailability(Long bookId, Boolean available) {
+        change(current -> current.updateAvailability(bookId, available));
+    }
+
+    public void reindexAuthor(Author updatedAuthor) {
+        Author author = copyOf(updatedAuthor);
+        change(current -> current.reindexAuthor(author));
+    }
+
+    public void removeAuthor(Long authorId) {
+        change(current -> current.removeAuthor(authorId));
+    }
+
+    private void change(Consumer<Catalogue> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(catalogue);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Book> searchByTitle(String query) {
+        return search(current -> current.title, query);
+    }
+
+    public List<Book> searchByAuthor(String query) {
+        return search(current -> current.author, query);
+    }
+
+    public List<Book> searchByIsbn(String query) {
+        return search(current -> current.isbn, query);
+    }
+
+    // Served documents for the given ids in the given order; ids that are no longer indexed are skipped.
+    public List<Book> findAll(Collection<Long> bookIds) {
+        lock.readLock().lock();
+        try {
+            List<Book> result = new ArrayList<>(bookIds.size());
+            for (Long id : bookIds) {
+                Book book = catalogue.documents.get(id);
+                if (book != null) {
+                    result.add(book);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches first: by the share of query trigrams found, then by overall similarity so closer, shorter texts win.
+    public List<Book> searchFuzzy(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Book> documents = catalogue.documents;
+            return catalogue.text.match(query, minSimilarity).stream()
+                    .sorted(Comparator.comparingDouble(TrigramField.Match::similarity).reversed()
+                            .thenComparing(Comparator.comparingDouble(TrigramField.Match::dice).reversed())
+                            .thenComparing(TrigramField.Match::id))
+                    .limit(limit)
+                    .map(match -> documents.get(match.id()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return catalogue.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // A blank query matches nothing rather than the whole catalogue.
+    private List<Book> search(Function<Catalogue, Field> fieldOf, String query) {
+        String needle = normalize(query);
+        if (needle.isBlank()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Book> documents = catalogue.documents;
+            Field field = fieldOf.apply(catalogue);
+            List<Book> result = new ArrayList<>();
+            field.candidates(needle, id -> {
+                Book book = documents.get(id);
+                if (normalize(field.extractor.apply(book)).contains(needle)) {
+                    result.add(book);
+                }
+                return result.size() < maxResults;
+            });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documents are detached scalar copies so that serving them never triggers lazy loading.
+    private static Book copyOf(Book book) {
+        Book copy = new Book();
+        copy.setId(book.getId());
+        copy.setTitle(book.getTitle());
+        copy.setIsbn(book.getIsbn());
+        copy.setPublicationDate(book.getPublicationDate());
+        copy.setGenre(book.getGenre());
+        copy.setAvailable(book.getAvailable());
+        copy.setLoanCount(book.getLoanCount());
+        if (book.getAuthor() != null) {
+            copy.setAuthor(copyOf(book.getAuthor()));
+        }
+        return copy;
+    }
+
+    private static Author copyOf(Author author) {
+        Author copy = new Author();
+        copy.setId(author.getId());
+        copy.setName(author.getName());
+        copy.setBirthDate(author.getBirthDate());
+        copy.setNationality(author.getNationality());
+        return copy;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= value.length(); i++) {
+                grams.add(value.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Documents and postings of one generation of the index, plus the side indexes it keeps in step. Not
+     * thread-safe: the live catalogue is only touched under the index's lock, a rebuilt one only by the rebuild.
+     */
+    private static final class Catalogue {
+
+        private final Map<Long, Book> documents;
+        private final Field title;
+        private final Field author;
+        private final Field isbn;
+        private final TrigramField text;
+        private final BookAvailabilityIndex availability;
+        private final BookFacetIndex facets;
+        private final CompletionIndex completions;
+        private final IsbnIndex isbns;
+
+        Catalogue(BookAvailabilityIndex availability, BookFacetIndex facets, CompletionIndex completions, IsbnIndex isbns) {
+            this(new HashMap<>(), new Field(Book::getTitle),
+                    new Field(book -> book.getAuthor() != null ? book.getAuthor().getName() : null),
+                    new Field(Book::getIsbn),
+                    new TrigramField(book -> book.getTitle() + " " + (book.getAuthor() != null ? book.getAuthor().getName() : "")),
+                    availability, facets, completions, isbns);
+        }
+
+        private Catalogue(Map<Long, Book> documents, Field title, Field author, Field isbn, TrigramField text,
+                          BookAvailabilityIndex availability, BookFacetIndex facets, CompletionIndex completions, IsbnIndex isbns) {
+            this.documents = documents;
+            this.title = title;
+            this.author = author;
+            this.isbn = isbn;
+            this.text = text;
+            this.availability = availability;
+            this.facets = facets;
+            this.completions = completions;
+            this.isbns = isbns;
+        }
+
+        // The same documents and postings, with further changes mirrored into the given side indexes instead.
+        Catalogue feeding(BookAvailabilityIndex availability, BookFacetIndex facets, CompletionIndex completions, IsbnIndex isbns) {
+            return new Catalogue(documents, title, author, isbn, text, availability, facets, completions, isbns);
+        }
+
+        void index(Book book) {
+            remove(book.getId());
+            add(book);
+        }
+
+        void add(Book book) {
+            Book document = copyOf(book);
+            documents.put(document.getId(), document);
+            title.add(document);
+            author.add(document);
+            isbn.add(document);
+            text.add(document);
+            availability.put(document.getId(), document.getAvailable());
+            facets.add(document);
+            completions.add(document);
+            isbns.add(document);
+        }
+
+        void remove(Long bookId) {
+            Book existing = documents.remove(bookId);
+            if (existing != null) {
+                title.remove(existing);
+                author.remove(existing);
+                isbn.remove(existing);
+                text.remove(existing);
+                availability.remove(bookId);
+                facets.remove(existing);
+                completions.remove(existing);
+                isbns.remove(existing);
+            }
+        }
+
+        // Availability is not a text field, so swapping in an updated copy leaves the n-gram postings untouched.
+        // Like BookService.markAvailable, taking a book off the shelf counts a loan.
+        void updateAvailability(Long bookId, Boolean available) {
+            Book existing = documents.get(bookId);
+            if (existing != null) {
+                Book document = copyOf(existing);
+                document.setAvailable(available);
+                if (Boolean.FALSE.equals(available)) {
+                    document.setLoanCount(existing.getLoanCount() + 1);
+                }
+                documents.put(bookId, document);
+                availability.updateAvailability(bookId, available);
+                facets.remove(existing);
+                facets.add(document);
+                completions.remove(existing);
+                completions.add(document);
+            }
+        }
+
+        // Served documents are never modified; each affected book is replaced by a copy carrying the new author.
+        void reindexAuthor(Author updatedAuthor) {
+            List<Book> affected = documents.values().stream()
+                    .filter(book -> book.getAuthor() != null && updatedAuthor.getId().equals(book.getAuthor().getId()))
+                    .toList();
+            for (Book book : affected) {
+                Book document = copyOf(book);
+                document.setAuthor(updatedAuthor);
+                index(document);
+            }
+        }
+
+        void removeAuthor(Long authorId) {
+            List<Long> affected = documents.values().stream()
+                    .filter(book -> book.getAuthor() != null && authorId.equals(book.getAuthor().getId()))
+                    .map(Book::getId)
+                    .toList();
+            affected.forEach(this::remove);
+        }
+    }
+
+    private static final class Field {
+
+        private final Function<Book, String> extractor;
+        private final Map<String, Postings> postings = new HashMap<>();
+
+        Field(Function<Book, String> extractor) {
+            this.extractor = extractor;
+        }
+
+        void add(Book book) {
+            for (String gram : grams(normalize(extractor.apply(book)))) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(book.getId());
+            }
+        }
+
+        void remove(Book book) {
+            for (String gram : grams(normalize(extractor.apply(book)))) {
+                Postings ids = postings.get(gram);
+                if (ids != null && ids.remove(book.getId())) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        // Every substring of the needle must be present, so only ids in the posting lists of all its longest grams
+        // can match. They are walked in id order along the shortest list, probing the others from where their
+        // previous probe stopped, and handed to the visitor until it returns false.
+        void candidates(String needle, LongPredicate visitor) {
+            int n = Math.min(MAX_GRAM, needle.length());
+            List<Postings> lists = new ArrayList<>();
+            for (int i = 0; i + n <= needle.length(); i++) {
+                Postings ids = postings.get(needle.substring(i, i + n));
+                if (ids == null) {
+                    return;
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Postings::size));
+            Postings shortest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            next:
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                for (int list = 1; list < lists.size(); list++) {
+                    Postings other = lists.get(list);
+                    int at = other.seek(id, cursors[list]);
+                    if (at == other.size) {
+                        return;
+                    }
+                    cursors[list] = at;
+                    if (other.ids[at] != id) {
+                        continue next;
+                    }
+                }
+                if (!visitor.test(id)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Book ids in ascending order, in a primitive array grown by doubling. Rebuilds and new books arrive in id
+    // order, so adding is almost always an append; only edits and deletes shift the tail.
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int at = size;
+            if (size > 0 && ids[size - 1] >= id) {
+                at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                at = -at - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        // Returns true once the list is empty.
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        // Index of the first id at or after {@code from} that is not below the target, or size if there is none.
+        int seek(long target, int from) {
+            int at = Arrays.binarySearch(ids, from, size, target);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Book;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Prefix completions for the search box, one {@link RadixTree} for titles and one for author names.
+ * A title or name weighs one per catalogued copy plus one per loan of those copies, so popular
+ * entries come first. Keys are accent-folded like fuzzy search, so "garc" completes "García Márquez".
+ * {@link BookSearchIndex} keeps it in step, adjusting the weights whenever a book enters or leaves search.
+ */
+@Component
+public class CompletionIndex {
+
+    private RadixTree titles = new RadixTree();
+    private RadixTree authors = new RadixTree();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // The gauges read whichever trees are current, so they follow a rebuild's replaceWith.
+    @Autowired
+    public CompletionIndex(MeterRegistry meterRegistry) {
+        gauge(meterRegistry, "library.autocomplete.keys", null, "titles", index -> index.titles.size());
+        gauge(meterRegistry, "library.autocomplete.keys", null, "authors", index -> index.authors.size());
+        gauge(meterRegistry, "library.autocomplete.memory", "bytes", "titles", index -> index.titles.estimatedBytes());
+        gauge(meterRegistry, "library.autocomplete.memory", "bytes", "authors", index -> index.authors.estimatedBytes());
+    }
+
+    // An unregistered index for a rebuild to fill before it is swapped in.
+    CompletionIndex() {
+    }
+
+    public void add(Book book) {
+        adjust(book, 1);
+    }
+
+    public void remove(Book book) {
+        adjust(book, -1);
+    }
+
+    // Takes over the trees of an index filled off to the side by a rebuild.
+    void replaceWith(CompletionIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            titles = rebuilt.titles;
+            authors = rebuilt.authors;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> completeTitle(String prefix, int limit) {
+        return complete(titles, prefix, limit);
+    }
+
+    public List<String> completeAuthor(String prefix, int limit) {
+        return complete(authors, prefix, limit);
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return titles.estimatedBytes() + authors.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adjust(Book book, int sign) {
+        long weight = sign * (1 + book.getLoanCount());
+        String author = book.getAuthor() != null ? book.getAuthor().getName() : null;
+        lock.writeLock().lock();
+        try {
+            if (book.getTitle() != null) {
+                titles.adjust(TrigramField.fold(book.getTitle()), book.getTitle(), weight);
+            }
+            if (author != null) {
+                authors.adjust(TrigramField.fold(author), author, weight);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> complete(RadixTree tree, String prefix, int limit) {
+        String key = TrigramField.fold(prefix);
+        lock.readLock().lock();
+        try {
+            return tree.complete(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String name, String baseUnit, String field,
+                       ToDoubleFunction<CompletionIndex> value) {
+        Gauge.builder(name, this, value)
+                .baseUnit(baseUnit)
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Book;
+
+import java.util.List;
+import java.util.Map;
+
+public record FacetedBooks(List<Book> books, boolean hasNext, long total,
+                           Map<BookFacetIndex.Facet, Map<String, Integer>> counts) {
+}
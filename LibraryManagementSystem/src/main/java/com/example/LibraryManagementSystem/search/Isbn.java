@@ -0,0 +1,70 @@
+package com.example.LibraryManagementSystem.search;
+
+/**
+ * ISBN normalization: hyphens and spaces are dropped, check digits are verified and ISBN-10s are
+ * converted to their 978-prefixed ISBN-13, so every printed form of a book maps to one key.
+ */
+public final class Isbn {
+
+    private Isbn() {
+    }
+
+    /**
+     * Returns the canonical ISBN-13, or {@code null} when the value is not a well-formed ISBN.
+     */
+    public static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder compact = new StringBuilder(13);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '-' && c != ' ') {
+                compact.append(Character.toUpperCase(c));
+            }
+        }
+        if (compact.length() == 10 && validIsbn10(compact)) {
+            String digits = "978" + compact.substring(0, 9);
+            return digits + isbn13CheckDigit(digits);
+        }
+        if (compact.length() == 13 && allDigits(compact, 13) && isbn13CheckDigit(compact) == compact.charAt(12)) {
+            return compact.toString();
+        }
+        return null;
+    }
+
+    private static boolean validIsbn10(CharSequence isbn) {
+        if (!allDigits(isbn, 9)) {
+            return false;
+        }
+        char last = isbn.charAt(9);
+        if (last != 'X' && !Character.isDigit(last)) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += (10 - i) * (isbn.charAt(i) - '0');
+        }
+        sum += last == 'X' ? 10 : last - '0';
+        return sum % 11 == 0;
+    }
+
+    // Weights alternate 1 and 3 over the first twelve digits.
+    private static char isbn13CheckDigit(CharSequence digits) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (i % 2 == 0 ? 1 : 3) * (digits.charAt(i) - '0');
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    private static boolean allDigits(CharSequence value, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
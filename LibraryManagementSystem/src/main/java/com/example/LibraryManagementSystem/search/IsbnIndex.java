@@ -0,0 +1,80 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Exact-match hash index from canonical ISBN-13 to the ids of the copies carrying it.
+ * Books whose stored ISBN is not a valid ISBN are left out, since no validated lookup could reach them.
+ * It is fed by {@link BookSearchIndex}, so it follows the same rebuild and after-commit updates.
+ */
+@Component
+public class IsbnIndex {
+
+    private Map<String, List<Long>> copies = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Book book) {
+        String isbn = Isbn.canonical(book.getIsbn());
+        if (isbn == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            copies.computeIfAbsent(isbn, key -> new ArrayList<>(1)).add(book.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Book book) {
+        String isbn = Isbn.canonical(book.getIsbn());
+        if (isbn == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = copies.get(isbn);
+            if (ids != null) {
+                ids.remove(book.getId());
+                if (ids.isEmpty()) {
+                    copies.remove(isbn);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Takes over the map of an index filled off to the side by a rebuild.
+    void replaceWith(IsbnIndex rebuilt) {
+        lock.writeLock().lock();
+        try {
+            copies = rebuilt.copies;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the copies per requested canonical ISBN, in ascending id order; ISBNs without copies map to an empty list.
+     */
+    public Map<String, List<Long>> find(Collection<String> isbns) {
+        Map<String, List<Long>> result = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String isbn : isbns) {
+                List<Long> ids = new ArrayList<>(copies.getOrDefault(isbn, List.of()));
+                Collections.sort(ids);
+                result.put(isbn, ids);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+}
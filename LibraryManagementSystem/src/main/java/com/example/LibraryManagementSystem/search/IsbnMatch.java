@@ -0,0 +1,11 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Book;
+
+import java.util.List;
+
+/**
+ * The copies found for one scanned ISBN; {@code isbn} is the canonical ISBN-13, or null when the query was not a valid ISBN.
+ */
+public record IsbnMatch(String query, String isbn, List<Book> books) {
+}
@@ -0,0 +1,229 @@
+package com.example.LibraryManagementSystem.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Path-compressed trie of weighted completions. Single-child chains collapse into one edge label, and
+ * children are kept in a sorted array rather than a map, so the tree needs about one node per key
+ * instead of one per character. Every node caches the best weight in its subtree, which lets a
+ * best-first walk return the top completions of a prefix without visiting the rest of the subtree.
+ * Not thread-safe; {@link CompletionIndex} guards it.
+ */
+final class RadixTree {
+
+    // Header, five fields and the label String plus its byte array, with compressed oops.
+    static final int NODE_BYTES = 96;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node("");
+    private int nodes = 1;
+    private long labelChars;
+    private int keys;
+
+    /**
+     * Adds {@code delta} to the weight of {@code key}; the key disappears once its weight drops to zero.
+     * {@code text} is what completions return, and the first text seen for a key wins.
+     */
+    void adjust(String key, String text, long delta) {
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        adjust(root, key, 0, text, delta);
+    }
+
+    List<String> complete(String prefix, int limit) {
+        Node node = root;
+        int depth = 0;
+        while (depth < prefix.length()) {
+            int index = indexOf(node, prefix.charAt(depth));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, depth);
+            if (depth + common < prefix.length() && common < child.label.length()) {
+                return List.of();
+            }
+            node = child;
+            depth += common;
+        }
+
+        List<String> result = new ArrayList<>(limit);
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Candidate.ORDER);
+        queue.add(new Candidate(node, false, node.best));
+        while (result.size() < limit && !queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (candidate.terminal) {
+                result.add(candidate.node.text);
+                continue;
+            }
+            if (candidate.node.text != null) {
+                queue.add(new Candidate(candidate.node, true, candidate.node.weight));
+            }
+            for (Node child : candidate.node.children) {
+                queue.add(new Candidate(child, false, child.best));
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return keys;
+    }
+
+    int nodes() {
+        return nodes;
+    }
+
+    // Display texts are the indexed documents' own strings, so only the tree itself is counted.
+    long estimatedBytes() {
+        return (long) nodes * NODE_BYTES + labelChars;
+    }
+
+    void clear() {
+        root.children = NO_CHILDREN;
+        root.text = null;
+        root.weight = 0;
+        root.best = 0;
+        nodes = 1;
+        labelChars = 0;
+        keys = 0;
+    }
+
+    private void adjust(Node node, String key, int depth, String text, long delta) {
+        if (depth == key.length()) {
+            boolean present = node.text != null;
+            node.weight = Math.max(0, node.weight + delta);
+            if (node.weight > 0 && !present) {
+                node.text = text;
+                keys++;
+            } else if (node.weight == 0 && present) {
+                node.text = null;
+                keys--;
+            }
+        } else {
+            int index = indexOf(node, key.charAt(depth));
+            if (index < 0) {
+                if (delta < 0) {
+                    return;
+                }
+                Node leaf = newNode(key.substring(depth));
+                leaf.text = text;
+                leaf.weight = delta;
+                leaf.best = delta;
+                keys++;
+                insertChild(node, leaf);
+            } else {
+                Node child = node.children[index];
+                int common = commonPrefix(child.label, key, depth);
+                if (common < child.label.length()) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    Node middle = newNode(child.label.substring(0, common));
+                    labelChars -= common;
+                    child.label = child.label.substring(common);
+                    middle.children = new Node[]{child};
+                    middle.best = child.best;
+                    node.children[index] = middle;
+                    child = middle;
+                }
+                adjust(child, key, depth + common, text, delta);
+                compact(node, index);
+            }
+        }
+        long best = node.weight;
+        for (Node child : node.children) {
+            best = Math.max(best, child.best);
+        }
+        node.best = best;
+    }
+
+    // Drops a child that no longer leads to any key, and folds a keyless single-child node into its child.
+    private void compact(Node parent, int index) {
+        Node child = parent.children[index];
+        if (child.text != null) {
+            return;
+        }
+        if (child.children.length == 0) {
+            Node[] children = new Node[parent.children.length - 1];
+            System.arraycopy(parent.children, 0, children, 0, index);
+            System.arraycopy(parent.children, index + 1, children, index, children.length - index);
+            parent.children = children;
+            nodes--;
+            labelChars -= child.label.length();
+        } else if (child.children.length == 1) {
+            Node only = child.children[0];
+            only.label = child.label + only.label;
+            parent.children[index] = only;
+            nodes--;
+        }
+    }
+
+    private Node newNode(String label) {
+        nodes++;
+        labelChars += label.length();
+        return new Node(label);
+    }
+
+    private static void insertChild(Node parent, Node child) {
+        int position = -indexOf(parent, child.label.charAt(0)) - 1;
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.children, 0, children, 0, position);
+        children[position] = child;
+        System.arraycopy(parent.children, position, children, position + 1, parent.children.length - position);
+        parent.children = children;
+    }
+
+    // Binary search on the first character of each edge; siblings never share one.
+    private static int indexOf(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char value = node.children[middle].label.charAt(0);
+            if (value < first) {
+                low = middle + 1;
+            } else if (value > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private String text;
+        private long weight;
+        private long best;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    // Subtrees are expanded before an equally weighted key is emitted, so keys of equal weight come out alphabetically.
+    private record Candidate(Node node, boolean terminal, long score) {
+
+        static final Comparator<Candidate> ORDER = Comparator.comparingLong(Candidate::score).reversed()
+                .thenComparing(Candidate::terminal)
+                .thenComparing(candidate -> candidate.terminal ? candidate.node.text : "");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Book;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Word trigram postings over accent-folded text, used for typo-tolerant search.
+ * A document matches when it shares at least {@code minSimilarity} of the query's trigrams. Since a
+ * match has to share that many grams, it must appear in one of the {@code |q| - required + 1} rarest
+ * query grams' posting lists, so only those lists are read to collect candidates (prefix filtering),
+ * and the frequent grams are only probed for the candidates found there.
+ */
+final class TrigramField {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    record Match(Long id, double similarity, double dice) {
+    }
+
+    private final Function<Book, String> extractor;
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Integer> gramCounts = new HashMap<>();
+
+    TrigramField(Function<Book, String> extractor) {
+        this.extractor = extractor;
+    }
+
+    void add(Book book) {
+        Set<String> grams = trigrams(extractor.apply(book));
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(book.getId());
+        }
+        gramCounts.put(book.getId(), grams.size());
+    }
+
+    void remove(Book book) {
+        for (String gram : trigrams(extractor.apply(book))) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(book.getId());
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        gramCounts.remove(book.getId());
+    }
+
+    List<Match> match(String query, double minSimilarity) {
+        Set<String> queryGrams = trigrams(query);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+        List<Set<Long>> lists = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            lists.add(postings.getOrDefault(gram, Set.of()));
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        int total = lists.size();
+        int required = Math.max(1, (int) Math.ceil(minSimilarity * total));
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> ids : lists.subList(0, total - required + 1)) {
+            candidates.addAll(ids);
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            int shared = 0;
+            for (Set<Long> ids : lists) {
+                if (ids.contains(id)) {
+                    shared++;
+                }
+            }
+            if (shared >= required) {
+                matches.add(new Match(id, (double) shared / total, 2.0 * shared / (total + gramCounts.get(id))));
+            }
+        }
+        return matches;
+    }
+
+    // "García Márquez" and "garcia marquez" fold to the same text.
+    static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        return MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Words are padded like pg_trgm ("  word "), so leading letters weigh more than a typo mid-word.
+    static Set<String> trigrams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (String word : SEPARATORS.split(fold(value))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
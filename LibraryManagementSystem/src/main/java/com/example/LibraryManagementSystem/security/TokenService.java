@@ -0,0 +1,97 @@
+package com.example.LibraryManagementSystem.security;
+
+import com.example.LibraryManagementSystem.config.AuthProperties;
+import com.example.LibraryManagementSystem.dto.TokenResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and checks stateless bearer tokens of the form {@code customerId.expiresAtEpochSecond.signature}, signed
+ * with HMAC-SHA256. Checking a token is one HMAC over a few bytes and needs no database access; the BCrypt
+ * comparison happens once, at login.
+ */
+@Component
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_TYPE = "Bearer";
+
+    // Initialised once with the key and cloned per call, which skips the key setup and is safe across threads
+    private final Mac prototype;
+    private final Duration ttl;
+
+    public TokenService(AuthProperties properties) throws GeneralSecurityException {
+        byte[] secret;
+        if (properties.tokenSecret() == null || properties.tokenSecret().isBlank()) {
+            log.warn("library.auth.token-secret is not set; signing tokens with a random key that changes on restart");
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        } else {
+            secret = Base64.getDecoder().decode(properties.tokenSecret());
+        }
+        this.prototype = Mac.getInstance(ALGORITHM);
+        this.prototype.init(new SecretKeySpec(secret, ALGORITHM));
+        this.ttl = properties.tokenTtl();
+    }
+
+    public TokenResponse issue(Long customerId) {
+        Instant expiresAt = Instant.now().plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+        String payload = customerId + "." + expiresAt.getEpochSecond();
+        return new TokenResponse(payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload)),
+                TOKEN_TYPE, expiresAt);
+    }
+
+    /**
+     * @return the id of the customer the token was issued to, or empty if it is malformed, forged or expired
+     */
+    public Optional<Long> verify(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        int expiryStart = token.indexOf('.');
+        if (expiryStart <= 0 || signatureStart <= expiryStart) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return Optional.empty();
+        }
+        try {
+            long expiresAt = Long.parseLong(payload.substring(expiryStart + 1));
+            if (Instant.now().getEpochSecond() >= expiresAt) {
+                return Optional.empty();
+            }
+            return Optional.of(Long.parseLong(payload.substring(0, expiryStart)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = (Mac) prototype.clone();
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " cannot be cloned", e);
+        }
+    }
+}
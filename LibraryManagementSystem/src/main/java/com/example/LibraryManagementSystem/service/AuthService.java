@@ -0,0 +1,43 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.TokenResponse;
+import com.example.LibraryManagementSystem.repo.CustomerRepository;
+import com.example.LibraryManagementSystem.security.TokenService;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Observed(name = "library.service")
+public class AuthService {
+
+    private final CustomerRepository customerRepository;
+    private final PasswordHasher passwordHasher;
+    private final TokenService tokenService;
+    // Checked against when the email is unknown, so that case takes as long as a wrong password
+    private final String unknownCustomerHash;
+
+    public AuthService(CustomerRepository customerRepository, PasswordHasher passwordHasher, TokenService tokenService) {
+        this.customerRepository = customerRepository;
+        this.passwordHasher = passwordHasher;
+        this.tokenService = tokenService;
+        this.unknownCustomerHash = passwordHasher.hash(UUID.randomUUID().toString());
+    }
+
+    /**
+     * The one BCrypt comparison per session: later requests present the returned token instead of the password.
+     */
+    public Optional<TokenResponse> login(String email, String password) {
+        Optional<Customer> customer = customerRepository.findByEmail(email);
+        String hash = customer.map(Customer::getPassword).filter(Objects::nonNull).orElse(unknownCustomerHash);
+        boolean matches = passwordHasher.matches(password, hash);
+        if (customer.isEmpty() || !matches) {
+            return Optional.empty();
+        }
+        return Optional.of(tokenService.issue(customer.get().getId()));
+    }
+}
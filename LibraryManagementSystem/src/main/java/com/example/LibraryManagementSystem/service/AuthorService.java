@@ -1,46 +1,119 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
 import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
 import com.example.LibraryManagementSystem.repo.AuthorRepository;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Observed(name = "library.service")
 public class AuthorService {
 
     private AuthorRepository authorRepository;
+    private BookSearchIndex bookSearchIndex;
+    private CacheManager cacheManager;
+    private ChangeEventOutbox outbox;
 
-    public AuthorService(AuthorRepository authorRepository) {
+    public AuthorService(AuthorRepository authorRepository, BookSearchIndex bookSearchIndex, CacheManager cacheManager,
+                         ChangeEventOutbox outbox) {
         this.authorRepository = authorRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.cacheManager = cacheManager;
+        this.outbox = outbox;
     }
 
+    @Transactional(readOnly = true)
     public Page<Author> getAllAuthors(Pageable pageable) {
         return authorRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Author> getAuthorsSlice(Pageable pageable) {
+        return authorRepository.findAllBy(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Author> getAuthorsAfter(Long afterId, int size) {
+        List<Author> authors = authorRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        boolean hasNext = authors.size() > size;
+        return new SliceImpl<>(hasNext ? authors.subList(0, size) : authors, PageRequest.of(0, size), hasNext);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Author getAuthorById(Long id) {
         return authorRepository.findById(id).orElse(null);
     }
 
+    public VersionStamp getAuthorVersion(Long id) {
+        Author cached = cacheManager.getCache(CacheConfig.AUTHORS).get(id, Author.class);
+        if (cached != null) {
+            return VersionStamp.of(cached);
+        }
+        return authorRepository.findVersionById(id).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Author> getAuthorsByIds(Collection<Long> ids) {
+        return CachedBatchLoader.load(cacheManager.getCache(CacheConfig.AUTHORS), ids, Author.class,
+                authorRepository::findAllById, Author::getId);
+    }
+
+    @Transactional
     public Author createAuthor(Author author) {
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        outbox.authorChanged(savedAuthor, Change.CREATED);
+        return savedAuthor;
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public Author updateAuthor(Long id, Author authorDetails) {
         Author author = authorRepository.findById(id).orElse(null);
         if (author != null) {
             author.setName(authorDetails.getName());
             author.setBirthDate(authorDetails.getBirthDate());
             author.setNationality(authorDetails.getNationality());
-            return authorRepository.save(author);
+            Author savedAuthor = authorRepository.save(author);
+            outbox.authorChanged(savedAuthor, Change.UPDATED);
+            AfterCommit.run(() -> bookSearchIndex.reindexAuthor(savedAuthor));
+            return savedAuthor;
         }
         return null;
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public void deleteAuthor(Long id) {
         authorRepository.deleteById(id);
+        outbox.deleted(Aggregate.AUTHOR, id);
+        AfterCommit.run(() -> bookSearchIndex.removeAuthor(id));
     }
 }
\ No newline at end of file
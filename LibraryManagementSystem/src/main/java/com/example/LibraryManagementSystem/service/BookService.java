@@ -1,41 +1,124 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
 import com.example.LibraryManagementSystem.domain.Author;
 import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.dto.AutocompleteView;
+import com.example.LibraryManagementSystem.dto.BookAvailabilityView;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
 import com.example.LibraryManagementSystem.repo.BookRepository;
 import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
+import com.example.LibraryManagementSystem.search.BookAvailabilityIndex;
+import com.example.LibraryManagementSystem.search.BookFacetIndex;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
+import com.example.LibraryManagementSystem.search.CompletionIndex;
+import com.example.LibraryManagementSystem.search.FacetedBooks;
+import com.example.LibraryManagementSystem.search.Isbn;
+import com.example.LibraryManagementSystem.search.IsbnIndex;
+import com.example.LibraryManagementSystem.search.IsbnMatch;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "library.service")
 public class BookService {
 
 
     private BookRepository bookRepository;
     private AuthorService authorService;
     private BorrowingRecordRepository borrowingRecordRepository;
+    private BookSearchIndex bookSearchIndex;
+    private BookAvailabilityIndex bookAvailabilityIndex;
+    private BookFacetIndex bookFacetIndex;
+    private CompletionIndex completionIndex;
+    private IsbnIndex isbnIndex;
+    private CacheManager cacheManager;
+    private ChangeEventOutbox outbox;
 
 
-    public BookService(BookRepository bookRepository, AuthorService authorService, BorrowingRecordRepository borrowingRecordRepository) {
+    public BookService(BookRepository bookRepository, AuthorService authorService, BorrowingRecordRepository borrowingRecordRepository,
+                       BookSearchIndex bookSearchIndex, BookAvailabilityIndex bookAvailabilityIndex,
+                       BookFacetIndex bookFacetIndex, CompletionIndex completionIndex, IsbnIndex isbnIndex,
+                       CacheManager cacheManager, ChangeEventOutbox outbox) {
         this.bookRepository = bookRepository;
         this.authorService = authorService;
         this.borrowingRecordRepository = borrowingRecordRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookAvailabilityIndex = bookAvailabilityIndex;
+        this.bookFacetIndex = bookFacetIndex;
+        this.completionIndex = completionIndex;
+        this.isbnIndex = isbnIndex;
+        this.cacheManager = cacheManager;
+        this.outbox = outbox;
     }
 
+    // Queries run read-only: Hibernate neither flushes nor keeps snapshots for dirty checking, and with a replica
+    // configured the connection comes from the replica pool.
+    @Transactional(readOnly = true)
     public Page<Book> getAllBooks(Pageable pageable) {
         return bookRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Book> getBooksSlice(Pageable pageable) {
+        return bookRepository.findAllBy(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Book> getBooksAfter(Long afterId, int size) {
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        boolean hasNext = books.size() > size;
+        return new SliceImpl<>(hasNext ? books.subList(0, size) : books, PageRequest.of(0, size), hasNext);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Book getBookById(Long id) {
         Optional<Book> optionalBook = bookRepository.findById(id);
         return optionalBook.orElse(null);
     }
 
+    // A cached book already carries its validators; otherwise only the version columns are read. Not transactional,
+    // so a cache hit never takes a connection; the repository query runs in its own read-only transaction.
+    public VersionStamp getBookVersion(Long id) {
+        Book cached = cacheManager.getCache(CacheConfig.BOOKS).get(id, Book.class);
+        if (cached != null) {
+            return VersionStamp.of(cached);
+        }
+        return bookRepository.findVersionById(id).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Book> getBooksByIds(Collection<Long> ids) {
+        return CachedBatchLoader.load(cacheManager.getCache(CacheConfig.BOOKS), ids, Book.class,
+                bookRepository::findByIdIn, Book::getId);
+    }
 
+    @Transactional
     public Book createBook(Book book) throws RuntimeException {
         Author author = authorService.getAuthorById(book.getAuthor().getId());
 
@@ -44,9 +127,18 @@ public class BookService {
         }
 
         book.setAuthor(author);
-        return bookRepository.save(book);
+        book.setLoanCount(0);
+        Book savedBook = bookRepository.save(book);
+        outbox.bookChanged(savedBook, Change.CREATED);
+        AfterCommit.run(() -> bookSearchIndex.index(savedBook));
+        return savedBook;
     }
 
+    // One transaction keeps the loaded book managed, so save() does not merge it into a copy whose
+    // author is an uninitialized proxy by the time it reaches the search index. The index only takes the
+    // edit once it commits: a version conflict at flush must not leave it in search and facets.
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public Book updateBook(Long id, Book bookDetails) throws RuntimeException {
          Author author = authorService.getAuthorById(bookDetails.getAuthor().getId());
 
@@ -63,27 +155,106 @@ public class BookService {
             book.setPublicationDate(bookDetails.getPublicationDate());
             book.setGenre(bookDetails.getGenre());
             book.setAvailable(bookDetails.getAvailable());
-            return bookRepository.save(book);
+            Book savedBook = bookRepository.save(book);
+            outbox.bookChanged(savedBook, Change.UPDATED);
+            AfterCommit.run(() -> bookSearchIndex.index(savedBook));
+            return savedBook;
         }
         return null;
     }
 
+    // Loads the managed row rather than trusting the caller's copy, which may be a shared cached instance.
+    // Taking a book off the shelf only happens on checkout, so it also counts the loan.
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
+    public Book markAvailable(Long id, boolean available) {
+        Book book = bookRepository.findById(id).orElseThrow(() -> new RuntimeException("Book not found"));
+        book.setAvailable(available);
+        if (!available) {
+            book.setLoanCount(book.getLoanCount() + 1);
+        }
+        Book savedBook = bookRepository.save(book);
+        outbox.bookChanged(savedBook, Change.UPDATED);
+        AfterCommit.run(() -> bookSearchIndex.updateAvailability(id, available));
+        return savedBook;
+    }
+
+    // Managed copies for a write in the caller's transaction, in one query; getBooksByIds may hand out shared cached instances.
+    public Map<Long, Book> getBooksForUpdate(Collection<Long> ids) {
+        return bookRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+    }
+
+    // Basket counterpart of markAvailable for books loaded by getBooksForUpdate in the same transaction.
+    // The version-checked updates are flushed as one JDBC batch; cache and index follow once it commits.
+    public void markAllAvailable(Collection<Book> books, boolean available) {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS);
+        List<Long> ids = new ArrayList<>(books.size());
+        for (Book book : books) {
+            book.setAvailable(available);
+            if (!available) {
+                book.setLoanCount(book.getLoanCount() + 1);
+            }
+            ids.add(book.getId());
+            cache.evict(book.getId());
+            outbox.bookChanged(book, Change.UPDATED);
+        }
+        bookRepository.saveAll(books);
+        AfterCommit.run(() -> ids.forEach(id -> bookSearchIndex.updateAvailability(id, available)));
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public void deleteBook(Long id) {
         boolean isBookBorrowed = borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(id);
         if (isBookBorrowed) {
             throw new RuntimeException("This book is borrowed and can't be deleted now.");
         }
-        bookRepository.deleteById(id);    }
+        bookRepository.deleteById(id);
+        outbox.deleted(Aggregate.BOOK, id);
+        AfterCommit.run(() -> bookSearchIndex.remove(id));
+    }
 
     public List<Book> searchBooksByTitle(String title) {
-        return bookRepository.findByTitleContainingIgnoreCase(title);
+        return bookSearchIndex.searchByTitle(title);
     }
 
     public List<Book> searchBooksByAuthor(String author) {
-        return bookRepository.findByAuthorNameContainingIgnoreCase(author);
+        return bookSearchIndex.searchByAuthor(author);
     }
 
     public List<Book> searchBooksByIsbn(String isbn) {
-        return bookRepository.findByIsbnContaining(isbn);
+        return bookSearchIndex.searchByIsbn(isbn);
+    }
+
+    // Exact lookups of scanned barcodes: every query is normalized to its ISBN-13 and answered from the hash index.
+    public List<IsbnMatch> findBooksByIsbn(List<String> queries) {
+        List<String> isbns = queries.stream().map(Isbn::canonical).toList();
+        Map<String, List<Long>> copies = isbnIndex.find(isbns.stream().filter(Objects::nonNull).collect(Collectors.toSet()));
+        List<IsbnMatch> matches = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            String isbn = isbns.get(i);
+            List<Book> books = isbn != null ? bookSearchIndex.findAll(copies.get(isbn)) : List.of();
+            matches.add(new IsbnMatch(queries.get(i), isbn, books));
+        }
+        return matches;
+    }
+
+    public List<Book> searchBooksFuzzy(String query, int limit) {
+        return bookSearchIndex.searchFuzzy(query, limit);
     }
-}
\ No newline at end of file
+
+    // Answered from the shelf bitmap, which follows checkouts and returns once they commit.
+    public BookAvailabilityView getAvailability(Collection<Long> ids) {
+        return bookAvailabilityIndex.lookup(ids);
+    }
+
+    public AutocompleteView autocomplete(String prefix, int limit) {
+        return new AutocompleteView(completionIndex.completeTitle(prefix, limit), completionIndex.completeAuthor(prefix, limit));
+    }
+
+    public FacetedBooks browseBooks(Map<BookFacetIndex.Facet, Set<String>> filters, Long afterId, int size) {
+        BookFacetIndex.Result result = bookFacetIndex.browse(filters, afterId, size);
+        return new FacetedBooks(bookSearchIndex.findAll(result.ids()), result.hasNext(), result.total(), result.counts());
+    }
+
+}
@@ -2,80 +2,340 @@ package com.example.LibraryManagementSystem.service;
 
 
 
+import com.example.LibraryManagementSystem.config.CheckoutProperties;
 import com.example.LibraryManagementSystem.domain.Book;
 import com.example.LibraryManagementSystem.domain.BorrowingRecord;
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.exception.CheckoutConflictException;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
 import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "library.service")
 public class BorrowingRecordService {
 
     private BorrowingRecordRepository borrowingRecordRepository;
     private BookService bookService;
     private CustomerService customerService;
+    private final ChangeEventOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLocks bookLocks;
+    private final Duration loanPeriod;
+    private final OverdueLoanService overdueLoanService;
 
-    public BorrowingRecordService(BorrowingRecordRepository borrowingRecordRepository, CustomerService customerService, BookService bookService) {
+    public BorrowingRecordService(BorrowingRecordRepository borrowingRecordRepository, CustomerService customerService, BookService bookService,
+                                  PlatformTransactionManager transactionManager, CheckoutProperties checkoutProperties,
+                                  ChangeEventOutbox outbox, OverdueLoanService overdueLoanService) {
         this.borrowingRecordRepository = borrowingRecordRepository;
         this.customerService = customerService;
         this.bookService = bookService;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookLocks = new StripedLocks(checkoutProperties.lockStripes());
+        this.loanPeriod = checkoutProperties.loanPeriod();
+        this.overdueLoanService = overdueLoanService;
     }
 
+    @Transactional(readOnly = true)
     public Page<BorrowingRecord> getAllBorrowingRecords(Pageable pageable) {
         return borrowingRecordRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<BorrowingRecord> getBorrowingRecordsSlice(Pageable pageable) {
+        return borrowingRecordRepository.findAllBy(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<BorrowingRecord> getBorrowingRecordsAfter(Long afterId, int size) {
+        List<BorrowingRecord> borrowingRecords = borrowingRecordRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        boolean hasNext = borrowingRecords.size() > size;
+        return new SliceImpl<>(hasNext ? borrowingRecords.subList(0, size) : borrowingRecords, PageRequest.of(0, size), hasNext);
+    }
+
+    @Transactional(readOnly = true)
     public BorrowingRecord getBorrowingRecordById(Long id) {
         Optional<BorrowingRecord> optionalBorrowingRecord = borrowingRecordRepository.findById(id);
         return optionalBorrowingRecord.orElse(null);
     }
 
+    @Transactional(readOnly = true)
+    public VersionStamp getBorrowingRecordVersion(Long id) {
+        return borrowingRecordRepository.findVersionById(id).orElse(null);
+    }
+
     public BorrowingRecord createBorrowingRecord(Long customerId, Long bookId, BorrowingRecord borrowingRecordDetails) {
-        Customer customer = customerService.getCustomerById(customerId);
-        Book book = bookService.getBookById(bookId);
+        return underBookLock(bookId, () -> {
+            Customer customer = customerService.getCustomerById(customerId);
+            Book book = bookService.getBookById(bookId);
+
+            if (customer == null || book == null) {
+                throw new RuntimeException("Customer or Book not found");
+            }
+
+            boolean open = borrowingRecordDetails.getReturnDate() == null;
+            if (open && (Boolean.FALSE.equals(book.getAvailable()) || borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(bookId))) {
+                throw new CheckoutConflictException("Book " + bookId + " is already borrowed");
+            }
 
-        if (customer == null || book == null) {
-            throw new RuntimeException("Customer or Book not found");
+            if (open) {
+                bookService.markAvailable(bookId, false);
+            }
+            borrowingRecordDetails.setCustomer(customer);
+            borrowingRecordDetails.setBook(book);
+            if (borrowingRecordDetails.getBorrowDate() == null) {
+                borrowingRecordDetails.setBorrowDate(new Date());
+            }
+            if (borrowingRecordDetails.getDueDate() == null) {
+                borrowingRecordDetails.setDueDate(dueDateFor(borrowingRecordDetails.getBorrowDate()));
+            }
+            borrowingRecordDetails.setOverdue(false);
+            if (open) {
+                overdueLoanService.rewindFor(borrowingRecordDetails.getDueDate(), null);
+            }
+            BorrowingRecord savedRecord = borrowingRecordRepository.save(borrowingRecordDetails);
+            outbox.loanChanged(savedRecord, Change.CREATED);
+            return savedRecord;
+        });
+    }
+
+    public BorrowingRecord returnBorrowingRecord(Long id) {
+        BorrowingRecord borrowingRecord = getBorrowingRecordById(id);
+        if (borrowingRecord == null) {
+            throw new RuntimeException("BorrowingRecord not found");
         }
 
-        borrowingRecordDetails.setCustomer(customer);
-        borrowingRecordDetails.setBook(book);
-        return borrowingRecordRepository.save(borrowingRecordDetails);
+        return underBookLock(borrowingRecord.getBook().getId(), () -> {
+            BorrowingRecord current = borrowingRecordRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("BorrowingRecord not found"));
+            if (current.getReturnDate() != null) {
+                throw new CheckoutConflictException("Borrowing record " + id + " is already returned");
+            }
+            current.setReturnDate(new Date());
+            bookService.markAvailable(current.getBook().getId(), true);
+            BorrowingRecord savedRecord = borrowingRecordRepository.save(current);
+            outbox.loanChanged(savedRecord, Change.UPDATED);
+            return savedRecord;
+        });
     }
 
-    public BorrowingRecord updateBorrowingRecord(Long id, Long customerId, Long bookId, BorrowingRecord borrowingRecordDetails) {
-        Customer customer = customerService.getCustomerById(customerId);
-        Book book = bookService.getBookById(bookId);
-        Optional<BorrowingRecord> possibleBorrowingRecord = borrowingRecordRepository.findById(id);
+    /**
+     * Checks out a whole basket for one customer in a single transaction: the customer is loaded once, the books
+     * and their open loans with one query each, and the new loans are inserted as one batch. Books that are
+     * unknown, already borrowed or listed twice are reported per item and do not stop the rest of the basket.
+     */
+    public List<LoanResult> checkoutBasket(Long customerId, List<Long> bookIds) {
+        return underBookLocks(bookIds, () -> {
+            Customer customer = customerService.getCustomerById(customerId);
+            if (customer == null) {
+                throw new RuntimeException("Customer not found");
+            }
 
-        if (customer == null || book == null || possibleBorrowingRecord.isEmpty()) {
-            throw new RuntimeException("Customer, Book or BorrowingRecord not found");
-        }
-        BorrowingRecord borrowingRecord = possibleBorrowingRecord.get();
+            Map<Long, Book> books = bookService.getBooksForUpdate(bookIds);
+            Set<Long> taken = books.isEmpty() ? new HashSet<>() : new HashSet<>(borrowingRecordRepository.findOpenLoanBookIds(books.keySet()));
+            Date borrowDate = new Date();
+            List<LoanResult> results = new ArrayList<>(bookIds.size());
+            List<Book> borrowed = new ArrayList<>();
+            List<BorrowingRecord> loans = new ArrayList<>();
+            for (Long bookId : bookIds) {
+                Book book = books.get(bookId);
+                if (book == null) {
+                    results.add(LoanResult.notFound(bookId, "Book " + bookId + " not found"));
+                } else if (Boolean.FALSE.equals(book.getAvailable()) || !taken.add(bookId)) {
+                    results.add(LoanResult.conflict(bookId, "Book " + bookId + " is already borrowed"));
+                } else {
+                    BorrowingRecord loan = new BorrowingRecord();
+                    loan.setCustomer(customer);
+                    loan.setBook(book);
+                    loan.setBorrowDate(borrowDate);
+                    loan.setDueDate(dueDateFor(borrowDate));
+                    loan.setOverdue(false);
+                    borrowed.add(book);
+                    loans.add(loan);
+                    results.add(LoanResult.ok(bookId, loan));
+                }
+            }
+            if (!loans.isEmpty()) {
+                bookService.markAllAvailable(borrowed, false);
+                borrowingRecordRepository.saveAll(loans);
+                loans.forEach(loan -> outbox.loanChanged(loan, Change.CREATED));
+            }
+            return results;
+        });
+    }
+
+    // Batch counterpart of returnBorrowingRecord: the loans are read once to find their books, then re-read under those books' locks.
+    public List<LoanResult> returnBasket(List<Long> ids) {
+        Set<Long> bookIds = borrowingRecordRepository.findByIdIn(ids).stream()
+                .map(record -> record.getBook().getId())
+                .collect(Collectors.toSet());
 
-        borrowingRecord.setCustomer(customer);
-        borrowingRecord.setBook(book);
-        borrowingRecord.setBorrowDate(borrowingRecordDetails.getBorrowDate());
-        borrowingRecord.setReturnDate(borrowingRecordDetails.getReturnDate());
-        return borrowingRecordRepository.save(borrowingRecord);
+        return underBookLocks(bookIds, () -> {
+            Map<Long, BorrowingRecord> records = borrowingRecordRepository.findByIdIn(ids).stream()
+                    .collect(Collectors.toMap(BorrowingRecord::getId, Function.identity()));
+            Date returnDate = new Date();
+            List<LoanResult> results = new ArrayList<>(ids.size());
+            List<Book> shelved = new ArrayList<>();
+            List<BorrowingRecord> returned = new ArrayList<>();
+            for (Long id : ids) {
+                BorrowingRecord record = records.get(id);
+                if (record == null) {
+                    results.add(LoanResult.notFound(id, "Borrowing record " + id + " not found"));
+                } else if (record.getReturnDate() != null) {
+                    results.add(LoanResult.conflict(id, "Borrowing record " + id + " is already returned"));
+                } else {
+                    record.setReturnDate(returnDate);
+                    shelved.add(record.getBook());
+                    returned.add(record);
+                    results.add(LoanResult.ok(id, record));
+                }
+            }
+            if (!returned.isEmpty()) {
+                bookService.markAllAvailable(shelved, true);
+                borrowingRecordRepository.saveAll(returned);
+                returned.forEach(record -> outbox.loanChanged(record, Change.UPDATED));
+            }
+            return results;
+        });
     }
 
+    /**
+     * Replaces a loan's customer, book and dates. Changes that open, close or move a loan go through the same
+     * checks and availability updates as checkout and return, under the locks of both the old and the new book:
+     * closing frees the book, reopening or moving an open loan needs the target book to be on the shelf.
+     */
+    public BorrowingRecord updateBorrowingRecord(Long id, Long customerId, Long bookId, BorrowingRecord borrowingRecordDetails) {
+        BorrowingRecord existing = getBorrowingRecordById(id);
+        Set<Long> lockedBooks = new HashSet<>();
+        lockedBooks.add(bookId);
+        if (existing != null && existing.getBook() != null) {
+            lockedBooks.add(existing.getBook().getId());
+        }
+
+        return underBookLocks(lockedBooks, () -> {
+            Customer customer = customerService.getCustomerById(customerId);
+            Book book = bookService.getBookById(bookId);
+            Optional<BorrowingRecord> possibleBorrowingRecord = borrowingRecordRepository.findById(id);
+
+            if (customer == null || book == null || possibleBorrowingRecord.isEmpty()) {
+                throw new RuntimeException("Customer, Book or BorrowingRecord not found");
+            }
+            BorrowingRecord borrowingRecord = possibleBorrowingRecord.get();
+            Long previousBookId = borrowingRecord.getBook() != null ? borrowingRecord.getBook().getId() : null;
+            if (previousBookId != null && !lockedBooks.contains(previousBookId)) {
+                throw new CheckoutConflictException("Borrowing record " + id + " was modified concurrently, please retry");
+            }
+
+            boolean wasOpen = borrowingRecord.getReturnDate() == null;
+            boolean open = borrowingRecordDetails.getReturnDate() == null;
+            boolean keepsLoan = wasOpen && open && bookId.equals(previousBookId);
+            if (open && !keepsLoan && (Boolean.FALSE.equals(book.getAvailable()) || borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(bookId))) {
+                throw new CheckoutConflictException("Book " + bookId + " is already borrowed");
+            }
+            if (wasOpen && !keepsLoan && previousBookId != null) {
+                bookService.markAvailable(previousBookId, true);
+            }
+            if (open && !keepsLoan) {
+                bookService.markAvailable(bookId, false);
+            }
+
+            borrowingRecord.setCustomer(customer);
+            borrowingRecord.setBook(book);
+            borrowingRecord.setBorrowDate(borrowingRecordDetails.getBorrowDate());
+            borrowingRecord.setReturnDate(borrowingRecordDetails.getReturnDate());
+            borrowingRecord.setDueDate(borrowingRecordDetails.getDueDate() != null
+                    ? borrowingRecordDetails.getDueDate()
+                    : dueDateFor(borrowingRecordDetails.getBorrowDate()));
+            if (open) {
+                overdueLoanService.rewindFor(borrowingRecord.getDueDate(), id);
+            }
+            BorrowingRecord savedRecord = borrowingRecordRepository.save(borrowingRecord);
+            outbox.loanChanged(savedRecord, Change.UPDATED);
+            return savedRecord;
+        });
+    }
 
     public void deleteBorrowingRecord(Long id) {
-        borrowingRecordRepository.deleteById(id);
+        Optional<BorrowingRecord> borrowingRecord = borrowingRecordRepository.findById(id);
+        if (borrowingRecord.isEmpty() || borrowingRecord.get().getReturnDate() != null) {
+            transactionTemplate.executeWithoutResult(status -> {
+                borrowingRecordRepository.deleteById(id);
+                if (borrowingRecord.isPresent()) {
+                    outbox.deleted(Aggregate.LOAN, id);
+                }
+            });
+            return;
+        }
+        underBookLock(borrowingRecord.get().getBook().getId(), () -> {
+            borrowingRecordRepository.findById(id).ifPresent(current -> {
+                if (current.getReturnDate() == null) {
+                    bookService.markAvailable(current.getBook().getId(), true);
+                }
+            });
+            borrowingRecordRepository.deleteById(id);
+            outbox.deleted(Aggregate.LOAN, id);
+            return null;
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<BorrowingRecord> findByCustomerId(Long customerId) {
         return borrowingRecordRepository.findByCustomerId(customerId);
     }
 
+    @Transactional(readOnly = true)
     public List<BorrowingRecord> findByBookId(Long bookId) {
         return borrowingRecordRepository.findByBookId(bookId);
     }
+
+    private Date dueDateFor(Date borrowDate) {
+        return borrowDate == null ? null : new Date(borrowDate.getTime() + loanPeriod.toMillis());
+    }
+
+    // Checkouts and returns of the same book are serialized by a striped in-process lock held across the whole
+    // transaction; different books proceed in parallel. Book.version still catches writers outside this JVM.
+    private <T> T underBookLock(Long bookId, Supplier<T> action) {
+        try {
+            return bookLocks.withLock(bookId, () -> transactionTemplate.execute(status -> action.get()));
+        } catch (OptimisticLockingFailureException e) {
+            throw new CheckoutConflictException("Book " + bookId + " was modified concurrently, please retry");
+        }
+    }
+
+    // A basket takes all of its books' stripes before its single transaction starts.
+    private <T> T underBookLocks(Collection<Long> bookIds, Supplier<T> action) {
+        try {
+            return bookLocks.withLocks(bookIds, () -> transactionTemplate.execute(status -> action.get()));
+        } catch (OptimisticLockingFailureException e) {
+            throw new CheckoutConflictException("Some of the books were modified concurrently, please retry");
+        }
+    }
 }
@@ -0,0 +1,275 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.ImportProperties;
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.AuthorImportRow;
+import com.example.LibraryManagementSystem.dto.BookImportRow;
+import com.example.LibraryManagementSystem.dto.CustomerImportRow;
+import com.example.LibraryManagementSystem.dto.ImportReport;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
+import com.example.LibraryManagementSystem.repo.AuthorRepository;
+import com.example.LibraryManagementSystem.repo.BookRepository;
+import com.example.LibraryManagementSystem.repo.CustomerRepository;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+@Service
+@Observed(name = "library.service")
+public class BulkImportService {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final CustomerRepository customerRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final ChangeEventOutbox outbox;
+    private final PasswordHasher passwordHasher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportProperties properties;
+
+    public BulkImportService(AuthorRepository authorRepository, BookRepository bookRepository, CustomerRepository customerRepository,
+                             BookSearchIndex bookSearchIndex, ChangeEventOutbox outbox, PasswordHasher passwordHasher,
+                             Validator validator, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             ImportProperties properties) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.customerRepository = customerRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.outbox = outbox;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    public ImportReport importAuthors(InputStream input, ImportFormat format) {
+        return runImport(input, format, AuthorImportRow.class, UnaryOperator.identity(), rows -> {
+            Batch<Author> batch = new Batch<>();
+            for (ParsedRow<AuthorImportRow> row : rows) {
+                batch.addIfValid(row.line(), row.value().toAuthor());
+            }
+            authorRepository.saveAll(batch.entities);
+            batch.entities.forEach(author -> outbox.authorChanged(author, Change.CREATED));
+            return batch;
+        }, authors -> {
+        });
+    }
+
+    public ImportReport importBooks(InputStream input, ImportFormat format) {
+        return runImport(input, format, BookImportRow.class, UnaryOperator.identity(), rows -> {
+            Set<Long> authorIds = rows.stream()
+                    .map(row -> row.value().authorId())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Map<Long, Author> authors = authorRepository.findAllById(authorIds).stream()
+                    .collect(Collectors.toMap(Author::getId, author -> author));
+
+            Batch<Book> batch = new Batch<>();
+            for (ParsedRow<BookImportRow> row : rows) {
+                Author author = authors.get(row.value().authorId());
+                if (author == null) {
+                    batch.reject(row.line(), "Author not found: " + row.value().authorId());
+                } else {
+                    batch.addIfValid(row.line(), row.value().toBook(author));
+                }
+            }
+            bookRepository.saveAll(batch.entities);
+            batch.entities.forEach(book -> outbox.bookChanged(book, Change.CREATED));
+            return batch;
+        }, books -> books.forEach(bookSearchIndex::index));
+    }
+
+    public ImportReport importCustomers(InputStream input, ImportFormat format) {
+        return runImport(input, format, CustomerImportRow.class, this::hashPasswords,
+                rows -> {
+                    Batch<Customer> batch = new Batch<>();
+                    for (ParsedRow<CustomerImportRow> row : rows) {
+                        batch.addIfValid(row.line(), row.value().toCustomer());
+                    }
+                    customerRepository.saveAll(batch.entities);
+                    return batch;
+                }, customers -> {
+                });
+    }
+
+    // Hashes the whole batch in parallel on the hashing pool rather than one row at a time while parsing
+    private List<CustomerImportRow> hashPasswords(List<CustomerImportRow> rows) {
+        List<String> hashes = passwordHasher.hashAll(rows.stream().map(CustomerImportRow::password).toList());
+        List<CustomerImportRow> hashed = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            hashed.add(rows.get(i).withPassword(hashes.get(i)));
+        }
+        return hashed;
+    }
+
+    // Reads the input line by line and writes it in bounded batches, one transaction per batch, so memory
+    // stays constant however large the file is. Bad rows are reported and skipped; the load carries on.
+    // Book and author writers record their change events in the batch's transaction, so a batch that rolls
+    // back leaves none behind.
+    private <R, E> ImportReport runImport(InputStream input, ImportFormat format, Class<R> rowType,
+                                          UnaryOperator<List<R>> prepare, BatchWriter<R, E> writer, Consumer<List<E>> afterCommit) {
+        Report report = new Report(properties.maxReportedErrors());
+        List<ParsedRow<R>> rows = new ArrayList<>(properties.batchSize());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && header == null) {
+                    header = CsvLineParser.parse(line);
+                    continue;
+                }
+                report.processed++;
+                try {
+                    rows.add(new ParsedRow<>(lineNumber, parse(line, format, header, rowType)));
+                } catch (IllegalArgumentException | IOException e) {
+                    report.fail(lineNumber, "Unreadable row: " + e.getMessage());
+                }
+                if (rows.size() == properties.batchSize()) {
+                    write(prepareBatch(rows, prepare), writer, afterCommit, report);
+                    rows.clear();
+                }
+            }
+            if (!rows.isEmpty()) {
+                write(prepareBatch(rows, prepare), writer, afterCommit, report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return report.toImportReport();
+    }
+
+    private static <R> List<ParsedRow<R>> prepareBatch(List<ParsedRow<R>> rows, UnaryOperator<List<R>> prepare) {
+        List<R> values = prepare.apply(rows.stream().map(ParsedRow::value).toList());
+        List<ParsedRow<R>> prepared = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            prepared.add(new ParsedRow<>(rows.get(i).line(), values.get(i)));
+        }
+        return prepared;
+    }
+
+    private <R> R parse(String line, ImportFormat format, List<String> header, Class<R> rowType) throws IOException {
+        if (format == ImportFormat.NDJSON) {
+            return objectMapper.readValue(line, rowType);
+        }
+        List<String> values = CsvLineParser.parse(line);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header.get(i).trim(), values.get(i));
+            }
+        }
+        return objectMapper.convertValue(fields, rowType);
+    }
+
+    // A batch that fails at flush time (e.g. a constraint violation) is retried row by row, so only the
+    // offending rows are reported instead of the whole batch.
+    private <R, E> void write(List<ParsedRow<R>> rows, BatchWriter<R, E> writer, Consumer<List<E>> afterCommit, Report report) {
+        Batch<E> batch;
+        try {
+            batch = transactionTemplate.execute(status -> writer.write(rows));
+        } catch (DataAccessException | PersistenceException e) {
+            if (rows.size() == 1) {
+                report.fail(rows.get(0).line(), rootMessage(e));
+            } else {
+                for (ParsedRow<R> row : rows) {
+                    write(List.of(row), writer, afterCommit, report);
+                }
+            }
+            return;
+        }
+        report.imported += batch.entities.size();
+        batch.rejected.forEach(error -> report.fail(error.line(), error.message()));
+        afterCommit.accept(batch.entities);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private interface BatchWriter<R, E> {
+        Batch<E> write(List<ParsedRow<R>> rows);
+    }
+
+    private record ParsedRow<R>(long line, R value) {
+    }
+
+    private class Batch<E> {
+
+        private final List<E> entities = new ArrayList<>();
+        private final List<ImportReport.RowError> rejected = new ArrayList<>();
+
+        void addIfValid(long line, E entity) {
+            Set<ConstraintViolation<E>> violations = validator.validate(entity);
+            if (violations.isEmpty()) {
+                entities.add(entity);
+            } else {
+                reject(line, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected.add(new ImportReport.RowError(line, message));
+        }
+    }
+
+    private static class Report {
+
+        private final int maxErrors;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        ImportReport toImportReport() {
+            errors.sort(Comparator.comparingLong(ImportReport.RowError::line));
+            return new ImportReport(processed, imported, failed, errors);
+        }
+    }
+}
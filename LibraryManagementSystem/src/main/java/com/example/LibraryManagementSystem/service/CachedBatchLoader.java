@@ -0,0 +1,39 @@
+package com.example.LibraryManagementSystem.service;
+
+import org.springframework.cache.Cache;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Multi-get on top of a per-id cache: hits are served from the cache and all misses are loaded with one
+ * {@code IN} query, then cached under the same keys the single-item {@code @Cacheable} lookups use.
+ */
+final class CachedBatchLoader {
+
+    private CachedBatchLoader() {
+    }
+
+    static <T> Map<Long, T> load(Cache cache, Collection<Long> ids, Class<T> type,
+                                 Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Map<Long, T> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            T cached = cache != null ? cache.get(id, type) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (T loaded : loader.apply(missing)) {
+                found.put(idOf.apply(loaded), loaded);
+                if (cache != null) {
+                    cache.put(idOf.apply(loaded), loaded);
+                }
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.LibraryManagementSystem.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Moves the {@link CatalogueChanges} counter on every insert, update and delete of a catalogue entity.
+ * Hibernate creates it through Spring's bean container, which injects the counter.
+ */
+public class CatalogueChangeListener {
+
+    private final CatalogueChanges catalogueChanges;
+
+    public CatalogueChangeListener(CatalogueChanges catalogueChanges) {
+        this.catalogueChanges = catalogueChanges;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        catalogueChanges.changedOnCommit();
+    }
+}
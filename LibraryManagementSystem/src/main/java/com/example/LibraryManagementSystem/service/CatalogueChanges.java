@@ -0,0 +1,54 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalogue-wide change counter behind the ETags of the collection endpoints. Every committed write to a book,
+ * author, customer or borrowing record moves it forward, so a listing is unchanged exactly as long as the counter is.
+ * The counter lives in memory like the search index, and the tag carries the start-up time, so a restart never
+ * revalidates a listing cached before it.
+ */
+@Component
+public class CatalogueChanges {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong counter = new AtomicLong();
+    private volatile long lastChanged = System.currentTimeMillis();
+
+    // The time moves first, so a reader never pairs a new counter with an older Last-Modified.
+    public void changed() {
+        lastChanged = System.currentTimeMillis();
+        counter.incrementAndGet();
+    }
+
+    // Inside a transaction the change only counts once it commits, and only once per transaction.
+    public void changedOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CatalogueChanges.this);
+                if (status == STATUS_COMMITTED) {
+                    changed();
+                }
+            }
+        });
+    }
+
+    public VersionStamp stamp() {
+        return new VersionStamp(epoch + "." + counter.get(), new Date(lastChanged));
+    }
+}
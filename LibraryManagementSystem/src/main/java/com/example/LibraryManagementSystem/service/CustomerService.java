@@ -1,40 +1,76 @@
 package com.example.LibraryManagementSystem.service;
 
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
 import com.example.LibraryManagementSystem.repo.CustomerRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "library.service")
 public class CustomerService {
 
     private CustomerRepository customerRepository;
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
 
-    public CustomerService(CustomerRepository customerRepository, PasswordEncoder passwordEncoder) {
+    public CustomerService(CustomerRepository customerRepository, PasswordHasher passwordHasher) {
         this.customerRepository = customerRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
 
+    @Transactional(readOnly = true)
     public Page<Customer> getAllCustomers(Pageable pageable) {
         return customerRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Slice<Customer> getCustomersSlice(Pageable pageable) {
+        return customerRepository.findAllBy(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<Customer> getCustomersAfter(Long afterId, int size) {
+        List<Customer> customers = customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        boolean hasNext = customers.size() > size;
+        return new SliceImpl<>(hasNext ? customers.subList(0, size) : customers, PageRequest.of(0, size), hasNext);
+    }
+
+    @Transactional(readOnly = true)
     public Customer getCustomerById(Long id) {
         Optional<Customer> optionalCustomer = customerRepository.findById(id);
         return optionalCustomer.orElse(null);
     }
 
+    @Transactional(readOnly = true)
+    public VersionStamp getCustomerVersion(Long id) {
+        return customerRepository.findVersionById(id).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+        return customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+    }
+
     public Customer createCustomer(Customer customer) {
-        customer.setPassword(passwordEncoder.encode(customer.getPassword()));
+        customer.setPassword(passwordHasher.hash(customer.getPassword()));
         return customerRepository.save(customer);
     }
 
@@ -47,7 +83,7 @@ public class CustomerService {
             customer.setAddress(customerDetails.getAddress());
             customer.setPhoneNumber(customerDetails.getPhoneNumber());
             if (customerDetails.getPassword() != null && !customerDetails.getPassword().isEmpty()) {
-                customer.setPassword(passwordEncoder.encode(customerDetails.getPassword()));
+                customer.setPassword(passwordHasher.hash(customerDetails.getPassword()));
             }
             return customerRepository.save(customer);
         }
@@ -0,0 +1,202 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.ExportProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Writes whole tables to an output stream as NDJSON or CSV. Rows come from a forward-only JDBC cursor reading
+ * {@code library.export.fetch-size} rows per round trip and are written as they arrive, so memory use does not
+ * depend on the number of rows. Field names match the import rows, so an export can be imported again.
+ */
+@Service
+@Observed(name = "library.service")
+public class ExportService {
+
+    private static final Table BOOKS = new Table(
+            "SELECT book_id, title, author_id, isbn, publication_date, genre, available FROM book",
+            List.of("id", "title", "authorId", "isbn", "publicationDate", "genre", "available"), "book_id");
+
+    // No password column: hashes never leave the database through an export
+    private static final Table CUSTOMERS = new Table(
+            "SELECT id, name, email, address, phone_number FROM customer",
+            List.of("id", "name", "email", "address", "phoneNumber"), "id");
+
+    private static final Table BORROWINGS = new Table(
+            "SELECT id, customer_id, book_id, borrow_date, due_date, return_date, overdue FROM borrowing_record",
+            List.of("id", "customerId", "bookId", "borrowDate", "dueDate", "returnDate", "overdue"), "id");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(DataSource dataSource, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                         ExportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void exportBooks(OutputStream output, ImportFormat format) {
+        export(output, format, BOOKS, null);
+    }
+
+    public void exportCustomers(OutputStream output, ImportFormat format) {
+        export(output, format, CUSTOMERS, null);
+    }
+
+    /**
+     * Borrowing history, optionally narrowed to one customer or one book.
+     */
+    public void exportBorrowings(Long customerId, Long bookId, OutputStream output, ImportFormat format) {
+        if (customerId != null) {
+            export(output, format, BORROWINGS, new Filter("customer_id", customerId));
+        } else if (bookId != null) {
+            export(output, format, BORROWINGS, new Filter("book_id", bookId));
+        } else {
+            export(output, format, BORROWINGS, null);
+        }
+    }
+
+    private void export(OutputStream output, ImportFormat format, Table table, Filter filter) {
+        try {
+            RowWriter writer = format == ImportFormat.NDJSON
+                    ? new NdjsonRowWriter(objectMapper.getFactory().createGenerator(output), table.fields())
+                    : new CsvRowWriter(output, table.fields());
+            RowCallbackHandler handler = resultSet -> {
+                try {
+                    writer.write(resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            // One read-only transaction: a consistent snapshot, and drivers such as PostgreSQL only honour the
+            // fetch size with auto-commit off
+            transactionTemplate.executeWithoutResult(status -> {
+                if (filter == null) {
+                    jdbcTemplate.query(table.select() + " ORDER BY " + table.key(), handler);
+                } else {
+                    jdbcTemplate.query(table.select() + " WHERE " + filter.column() + " = ? ORDER BY " + table.key(), handler, filter.value());
+                }
+            });
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Dates are written as ISO yyyy-MM-dd in both formats
+    private static Object value(ResultSet resultSet, int column) throws SQLException {
+        Object value = resultSet.getObject(column);
+        return value instanceof Date || value instanceof TemporalAccessor ? value.toString() : value;
+    }
+
+    private record Table(String select, List<String> fields, String key) {
+    }
+
+    private record Filter(String column, Object value) {
+    }
+
+    private interface RowWriter {
+
+        void write(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final List<String> fields;
+
+        NdjsonRowWriter(JsonGenerator generator, List<String> fields) {
+            this.generator = generator;
+            this.generator.setRootValueSeparator(null);
+            this.fields = fields;
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < fields.size(); i++) {
+                generator.writeObjectField(fields.get(i), value(resultSet, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final int columns;
+
+        CsvRowWriter(OutputStream output, List<String> fields) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            this.columns = fields.size();
+            writeLine(new ArrayList<>(fields));
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            List<Object> values = new ArrayList<>(columns);
+            for (int i = 1; i <= columns; i++) {
+                values.add(value(resultSet, i));
+            }
+            writeLine(values);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(List<Object> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values.get(i) != null) {
+                    writer.write(quote(values.get(i).toString()));
+                }
+            }
+            writer.write('\n');
+        }
+
+        // RFC 4180, the inverse of CsvLineParser
+        private static String quote(String field) {
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+                return field;
+            }
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.LibraryManagementSystem.service;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+// Line-oriented formats shared by bulk imports and streaming exports.
+public enum ImportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public String fileExtension() {
+        return name().toLowerCase();
+    }
+
+    public static ImportFormat of(MediaType contentType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+
+    // The first format the client accepts, in the order of its Accept header; NDJSON for */*
+    public static ImportFormat accepting(List<MediaType> accepted) {
+        for (MediaType mediaType : accepted) {
+            for (ImportFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + accepted);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+
+/**
+ * Outcome of one item of a basket checkout or batch return: the requested book or borrowing record id,
+ * whether it went through and, if it did, the loan it opened or closed.
+ */
+public record LoanResult(Long id, Status status, String message, BorrowingRecord record) {
+
+    public enum Status {
+        OK, NOT_FOUND, CONFLICT
+    }
+
+    static LoanResult ok(Long id, BorrowingRecord record) {
+        return new LoanResult(id, Status.OK, null, record);
+    }
+
+    static LoanResult notFound(Long id, String message) {
+        return new LoanResult(id, Status.NOT_FOUND, message, null);
+    }
+
+    static LoanResult conflict(Long id, String message) {
+        return new LoanResult(id, Status.CONFLICT, message, null);
+    }
+}
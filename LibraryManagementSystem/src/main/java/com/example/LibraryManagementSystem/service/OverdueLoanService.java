@@ -0,0 +1,148 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.OverdueProperties;
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.domain.OverdueScanWatermark;
+import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
+import com.example.LibraryManagementSystem.repo.OverdueScanWatermarkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Flags open loans whose due date has passed. Each run continues from a persisted watermark along the due-date
+ * index, so it only reads loans that fell due since the previous run, in batches of {@code library.overdue.batch-size}.
+ * A loan created or re-dated behind the watermark moves it back to that loan's due date (see {@link #rewindFor}), so
+ * the next run walks forward from there again.
+ */
+@Service
+@Observed(name = "library.service")
+public class OverdueLoanService {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueLoanService.class);
+
+    private static final int WATERMARK_ID = 1;
+
+    private final BorrowingRecordRepository borrowingRecordRepository;
+    private final OverdueScanWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogueChanges catalogueChanges;
+    private final int batchSize;
+    private final Counter detected;
+
+    public OverdueLoanService(BorrowingRecordRepository borrowingRecordRepository, OverdueScanWatermarkRepository watermarkRepository,
+                              PlatformTransactionManager transactionManager, CatalogueChanges catalogueChanges,
+                              OverdueProperties properties, MeterRegistry meterRegistry) {
+        this.borrowingRecordRepository = borrowingRecordRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catalogueChanges = catalogueChanges;
+        this.batchSize = properties.batchSize();
+        this.detected = Counter.builder("library.loans.overdue.detected")
+                .description("Open loans flagged overdue by the overdue scan")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${library.overdue.scan-interval:PT5M}", initialDelayString = "${library.overdue.scan-interval:PT5M}")
+    public void scanScheduled() {
+        Date today = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+        scan(today);
+    }
+
+    /**
+     * Flags every open loan due before {@code today} that previous scans have not reached yet.
+     *
+     * @return the number of loans newly flagged overdue
+     */
+    public long scan(Date today) {
+        long flagged = 0;
+        ScanBatch batch;
+        do {
+            batch = transactionTemplate.execute(status -> scanBatch(today));
+            flagged += batch.flagged();
+        } while (batch.read() == batchSize);
+        detected.increment(flagged);
+        if (flagged > 0) {
+            log.info("Flagged {} loans overdue", flagged);
+        }
+        return flagged;
+    }
+
+    /**
+     * Must run in the transaction that writes an open loan, before the loan is saved. A due date on a day the scan
+     * has already passed moves the watermark back to the start of that day. The watermark row is only locked when it
+     * has to move, so ordinary checkouts, which fall due in the future, never wait for a scan.
+     *
+     * @param loanId the loan's id, or {@code null} for a loan not saved yet; new ids always sort after the watermark
+     */
+    public void rewindFor(Date dueDate, Long loanId) {
+        if (dueDate == null || !behind(watermarkRepository.findById(WATERMARK_ID), dueDate, loanId)) {
+            return;
+        }
+        Optional<OverdueScanWatermark> locked = watermarkRepository.findForUpdateById(WATERMARK_ID);
+        if (behind(locked, dueDate, loanId)) {
+            OverdueScanWatermark watermark = locked.get();
+            watermark.setDueDate(dueDate);
+            watermark.setLoanId(0L);
+            watermarkRepository.save(watermark);
+        }
+    }
+
+    // Due dates are compared as days, the way the column stores them.
+    private static boolean behind(Optional<OverdueScanWatermark> watermark, Date dueDate, Long loanId) {
+        if (watermark.isEmpty()) {
+            return false;
+        }
+        int order = day(dueDate).compareTo(day(watermark.get().getDueDate()));
+        return order < 0 || order == 0 && loanId != null && loanId <= watermark.get().getLoanId();
+    }
+
+    // The watermark's date is loaded as a java.sql.Date, so the day is taken from the epoch millis.
+    private static LocalDate day(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    // One transaction per batch: the watermark row is locked, so concurrent scans (other instances) take turns,
+    // and it only moves forward together with the flags it covers.
+    private ScanBatch scanBatch(Date today) {
+        OverdueScanWatermark watermark = watermarkRepository.findForUpdateById(WATERMARK_ID)
+                .orElseThrow(() -> new IllegalStateException("Overdue scan watermark is missing"));
+        List<BorrowingRecord> due = borrowingRecordRepository.findDueAfter(watermark.getDueDate(), watermark.getLoanId(),
+                today, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return new ScanBatch(0, 0);
+        }
+
+        List<Long> open = due.stream()
+                .filter(record -> !record.isOverdue())
+                .map(BorrowingRecord::getId)
+                .toList();
+        int flagged = open.isEmpty() ? 0 : borrowingRecordRepository.markOverdue(open);
+        if (flagged > 0) {
+            catalogueChanges.changedOnCommit();
+        }
+
+        BorrowingRecord last = due.get(due.size() - 1);
+        watermark.setDueDate(last.getDueDate());
+        watermark.setLoanId(last.getId());
+        watermarkRepository.save(watermark);
+        return new ScanBatch(due.size(), flagged);
+    }
+
+    private record ScanBatch(int read, int flagged) {
+    }
+}
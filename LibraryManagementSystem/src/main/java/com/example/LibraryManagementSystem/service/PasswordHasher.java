@@ -0,0 +1,130 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.PasswordHashingProperties;
+import com.example.LibraryManagementSystem.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs password hashing on its own small thread pool instead of the request thread, so a burst of sign-ups can
+ * use at most {@code library.password-hashing.threads} cores and catalogue reads keep the rest. At most
+ * {@code queue-capacity} hashes wait for a thread; past that, requests are turned away immediately rather than
+ * piling up behind each other. Bulk work such as a customer import holds at most {@code bulk-capacity} places at a
+ * time, on top of the interactive ones, so sign-ups and logins always find room. Pool metrics are published as
+ * {@code executor.*} with {@code name=password-hashing}: queue depth, hashing time ({@code executor}) and time spent
+ * queued ({@code executor.idle}).
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final Semaphore interactiveSlots;
+    private final Semaphore bulkSlots;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = properties.resolveThreads();
+        // Admission is decided by the two semaphores; the queue has room for everything they let in.
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity() + properties.bulkCapacity()),
+                new CustomizableThreadFactory("password-hashing-"));
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hashing");
+        this.timeoutMillis = properties.timeout().toMillis();
+        this.interactiveSlots = new Semaphore(threads + properties.queueCapacity());
+        this.bulkSlots = new Semaphore(Math.max(1, properties.bulkCapacity()));
+    }
+
+    public String hash(String rawPassword) {
+        if (rawPassword == null) {
+            return null;
+        }
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hashes a batch in parallel, in input order. At most {@code bulk-capacity} of its hashes are queued or running
+     * at once; the caller waits for one to finish before handing over the next, so a large import neither crowds
+     * out interactive callers nor times out its own later items.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<Future<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            if (rawPassword == null) {
+                hashes.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            try {
+                bulkSlots.acquire();
+            } catch (InterruptedException e) {
+                hashes.forEach(hash -> hash.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new PasswordHashingBusyException("Interrupted while hashing a password");
+            }
+            hashes.add(submit(bulkSlots, () -> passwordEncoder.encode(rawPassword)));
+        }
+        List<String> encoded = new ArrayList<>(hashes.size());
+        for (Future<String> hash : hashes) {
+            encoded.add(await(hash));
+        }
+        return encoded;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        if (!interactiveSlots.tryAcquire()) {
+            throw new PasswordHashingBusyException("Too many passwords waiting to be hashed, please retry");
+        }
+        return submit(interactiveSlots, task);
+    }
+
+    // The slot is given back once the hash is done, failed or cancelled, whether or not a thread ever picked it up.
+    private <T> Future<T> submit(Semaphore slots, Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                slots.release();
+            }
+        };
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw new PasswordHashingBusyException("Too many passwords waiting to be hashed, please retry");
+        }
+        return future;
+    }
+
+    private <T> T await(Future<T> hash) {
+        try {
+            return hash.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hash.cancel(true);
+            throw new PasswordHashingBusyException("Password hashing timed out, please retry");
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while hashing a password");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
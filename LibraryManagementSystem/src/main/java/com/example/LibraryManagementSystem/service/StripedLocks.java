@@ -0,0 +1,63 @@
+package com.example.LibraryManagementSystem.service;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed pool of locks indexed by key hash. Work on the same key is serialized while work on
+ * different keys only collides when two keys land on the same stripe, so there is no global lock.
+ */
+class StripedLocks {
+
+    private final ReentrantLock[] locks;
+
+    StripedLocks(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stripes are taken in index order, so two callers whose key sets overlap cannot deadlock.
+    <T> T withLocks(Collection<?> keys, Supplier<T> action) {
+        int[] stripes = keys.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        int held = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                held++;
+            }
+            return action.get();
+        } finally {
+            for (int i = held - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    ReentrantLock lockFor(Object key) {
+        return locks[stripeOf(key)];
+    }
+
+    private int stripeOf(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return hash & (locks.length - 1);
+    }
+
+    int size() {
+        return locks.length;
+    }
+}
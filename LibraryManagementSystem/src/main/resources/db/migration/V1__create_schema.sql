@@ -0,0 +1,58 @@
+-- Catalogue, customers and loans. Sequences step by 50 to match the pooled-lo generators on the entities.
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE customer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE borrowing_record_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE author (
+  author_id BIGINT NOT NULL,
+  name VARCHAR(100) NOT NULL,
+  birth_date DATE NOT NULL,
+  nationality VARCHAR(100) NOT NULL,
+  CONSTRAINT author_pk PRIMARY KEY (author_id)
+);
+
+CREATE TABLE book (
+  book_id BIGINT NOT NULL,
+  title VARCHAR(200) NOT NULL,
+  author_id BIGINT NOT NULL,
+  isbn VARCHAR(13) NOT NULL,
+  publication_date DATE,
+  genre VARCHAR(50),
+  available BOOLEAN,
+  version BIGINT,
+  CONSTRAINT book_pk PRIMARY KEY (book_id),
+  CONSTRAINT book_author_fk FOREIGN KEY (author_id) REFERENCES author (author_id)
+);
+
+CREATE TABLE customer (
+  id BIGINT NOT NULL,
+  name VARCHAR(100) NOT NULL,
+  email VARCHAR(100),
+  address VARCHAR(200),
+  phone_number VARCHAR(15),
+  password VARCHAR(255),
+  CONSTRAINT customer_pk PRIMARY KEY (id)
+);
+
+-- open_book_id is the book of a loan that has not been returned, NULL otherwise. H2 has no partial indexes,
+-- so a unique constraint on this generated column is how "at most one open loan per book" is enforced.
+CREATE TABLE borrowing_record (
+  id BIGINT NOT NULL,
+  customer_id BIGINT,
+  book_id BIGINT,
+  borrow_date DATE,
+  return_date DATE,
+  open_book_id BIGINT GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN book_id END),
+  CONSTRAINT borrowing_record_pk PRIMARY KEY (id),
+  CONSTRAINT borrowing_record_customer_fk FOREIGN KEY (customer_id) REFERENCES customer (id),
+  CONSTRAINT borrowing_record_book_fk FOREIGN KEY (book_id) REFERENCES book (book_id),
+  CONSTRAINT borrowing_record_open_loan_uk UNIQUE (open_book_id)
+);
+
+CREATE INDEX book_author_idx ON book (author_id);
+CREATE INDEX book_isbn_idx ON book (isbn);
+
+-- findByBookId and existsByBookIdAndReturnDateIsNull; the second column lets the open-loan check stay in the index
+CREATE INDEX borrowing_record_book_return_idx ON borrowing_record (book_id, return_date);
+CREATE INDEX borrowing_record_customer_idx ON borrowing_record (customer_id);
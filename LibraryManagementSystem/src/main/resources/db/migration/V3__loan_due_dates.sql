@@ -0,0 +1,16 @@
+-- Loans fall due a fixed period after checkout; existing loans get the default 14 days.
+ALTER TABLE borrowing_record ADD COLUMN due_date DATE;
+ALTER TABLE borrowing_record ADD COLUMN overdue BOOLEAN DEFAULT FALSE NOT NULL;
+UPDATE borrowing_record SET due_date = DATEADD(DAY, 14, borrow_date) WHERE borrow_date IS NOT NULL;
+
+-- The overdue scan walks this index from its watermark, so each run only touches loans that fell due since the last one
+CREATE INDEX borrowing_record_due_idx ON borrowing_record (due_date, id);
+
+-- Single row: the (due_date, id) of the last loan the overdue scan has processed
+CREATE TABLE overdue_scan_watermark (
+  id INT NOT NULL,
+  due_date DATE NOT NULL,
+  loan_id BIGINT NOT NULL,
+  CONSTRAINT overdue_scan_watermark_pk PRIMARY KEY (id)
+);
+INSERT INTO overdue_scan_watermark (id, due_date, loan_id) VALUES (1, '1970-01-01', 0);
@@ -0,0 +1,2 @@
+-- Customers log in by email, so it has to identify exactly one of them
+ALTER TABLE customer ADD CONSTRAINT customer_email_uk UNIQUE (email);
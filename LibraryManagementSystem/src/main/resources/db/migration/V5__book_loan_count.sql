@@ -0,0 +1,4 @@
+-- Running loan total per copy; autocomplete ranks titles and authors by it
+ALTER TABLE book ADD COLUMN loan_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE book b SET loan_count = (SELECT COUNT(*) FROM borrowing_record r WHERE r.book_id = b.book_id);
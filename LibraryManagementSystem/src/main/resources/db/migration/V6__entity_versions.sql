@@ -0,0 +1,12 @@
+-- Row versions and modification times; they back the ETag and Last-Modified headers of the API
+UPDATE book SET version = 0 WHERE version IS NULL;
+ALTER TABLE book ADD COLUMN last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE author ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE author ADD COLUMN last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE customer ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE customer ADD COLUMN last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE borrowing_record ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE borrowing_record ADD COLUMN last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL;
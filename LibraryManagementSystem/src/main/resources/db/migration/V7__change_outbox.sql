@@ -0,0 +1,25 @@
+-- Change events, written in the same transaction as the change they describe. The relay gives committed events a
+-- gap-free position in publication order; consumers resume from the last position they have seen.
+CREATE SEQUENCE outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_event (
+  id BIGINT NOT NULL,
+  position BIGINT,
+  aggregate_type VARCHAR(20) NOT NULL,
+  aggregate_id BIGINT NOT NULL,
+  change_type VARCHAR(20) NOT NULL,
+  payload VARCHAR(4000) NOT NULL,
+  created_at TIMESTAMP NOT NULL,
+  CONSTRAINT outbox_event_pk PRIMARY KEY (id)
+);
+
+-- Serves both the relay's sweep for unplaced events (position IS NULL, oldest first) and the reads after an offset
+CREATE INDEX outbox_event_position_idx ON outbox_event (position, created_at, id);
+
+-- The 'relay' row holds the last position handed out; every other row is the last position a sink has accepted
+CREATE TABLE outbox_offset (
+  consumer VARCHAR(50) NOT NULL,
+  position BIGINT NOT NULL,
+  CONSTRAINT outbox_offset_pk PRIMARY KEY (consumer)
+);
+INSERT INTO outbox_offset (consumer, position) VALUES ('relay', 0);
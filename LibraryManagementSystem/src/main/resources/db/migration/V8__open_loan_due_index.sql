@@ -0,0 +1,4 @@
+-- The overdue scan only reads open loans. H2 has no partial indexes, so return_date leads instead: the scan's
+-- "return_date IS NULL" prefix skips returned loans inside the index and keeps (due_date, id) order for its keyset.
+DROP INDEX borrowing_record_due_idx;
+CREATE INDEX borrowing_record_open_due_idx ON borrowing_record (return_date, due_date, id);
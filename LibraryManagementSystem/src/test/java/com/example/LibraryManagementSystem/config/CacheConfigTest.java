@@ -0,0 +1,116 @@
+package com.example.LibraryManagementSystem.config;
+
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.service.AuthorService;
+import com.example.LibraryManagementSystem.service.BookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-test",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "library.outbox.poll-interval=PT1H",
+        "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+class CacheConfigTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getBookById_ShouldServeRepeatedReadsFromCacheUntilUpdated() {
+        assertEquals(1, statementsFor(() -> bookService.getBookById(2L)));
+        assertEquals(0, statementsFor(() -> bookService.getBookById(2L)));
+
+        Book details = bookService.getBookById(2L);
+        Book update = new Book();
+        update.setTitle("Harry Potter and the Sorcerer's Stone");
+        update.setAuthor(details.getAuthor());
+        update.setIsbn(details.getIsbn());
+        update.setPublicationDate(details.getPublicationDate());
+        update.setGenre(details.getGenre());
+        update.setAvailable(details.getAvailable());
+        bookService.updateBook(2L, update);
+
+        assertEquals(1, statementsFor(() -> bookService.getBookById(2L)));
+        assertEquals("Harry Potter and the Sorcerer's Stone", bookService.getBookById(2L).getTitle());
+    }
+
+    @Test
+    void updateAuthor_ShouldEvictAuthorAndBooksThatEmbedIt() {
+        Author author = authorService.getAuthorById(3L);
+        bookService.getBookById(3L);
+
+        Author update = new Author();
+        update.setName("Dame Agatha Christie");
+        update.setBirthDate(author.getBirthDate());
+        update.setNationality(author.getNationality());
+        authorService.updateAuthor(3L, update);
+
+        assertEquals("Dame Agatha Christie", authorService.getAuthorById(3L).getName());
+        assertEquals("Dame Agatha Christie", bookService.getBookById(3L).getAuthor().getName());
+    }
+
+    @Test
+    void getBookById_ShouldNotCacheMissingBooks() {
+        assertNull(bookService.getBookById(999L));
+        assertEquals(1, statementsFor(() -> bookService.getBookById(999L)));
+    }
+
+    @Test
+    void cacheStatistics_ShouldBeExposedAsMetrics() throws Exception {
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", CacheConfig.BOOKS).tag("result", "hit").functionCounter().count() >= 1);
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:" + CacheConfig.BOOKS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("cache.gets"));
+        mockMvc.perform(get("/actuator/caches"))
+                .andExpect(status().isOk());
+    }
+
+    private long statementsFor(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
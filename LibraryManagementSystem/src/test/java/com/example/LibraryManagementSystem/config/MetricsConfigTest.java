@@ -0,0 +1,57 @@
+package com.example.LibraryManagementSystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:metrics-test", "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void sqlMetrics_ShouldCountStatementsAndEntitiesPerRequest() throws Exception {
+        mockMvc.perform(get("/borrowings/search").param("bookId", "1")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("library.sql.statements")
+                .tag("uri", "/borrowings/search").tag("method", "GET").summary();
+        DistributionSummary entities = meterRegistry.get("library.sql.entities")
+                .tag("uri", "/borrowings/search").tag("method", "GET").summary();
+        assertEquals(1, statements.count());
+        assertEquals(1.0, statements.totalAmount());
+        // The one loan comes back joined to its customer and book: one statement, three entities.
+        assertEquals(3.0, entities.totalAmount());
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExposeServiceHttpPoolAndCacheMetrics() throws Exception {
+        mockMvc.perform(get("/books/2")).andExpect(status().isOk());
+        mockMvc.perform(get("/books/2")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("library_service_seconds_bucket{class=\"com.example.LibraryManagementSystem.service.BookService\"")))
+                .andExpect(content().string(containsString("method=\"getBookById\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("library_sql_statements_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"books\"")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:auth-test")
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void login_ShouldIssueATokenThatAuthenticatesLaterRequests() throws Exception {
+        mockMvc.perform(get("/books/1")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/h2-console")).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/customers").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Token Holder\",\"email\":\"token@example.com\",\"phoneNumber\":\"+15550001111\",\"password\":\"s3cret\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"token@example.com\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nobody@example.com\",\"password\":\"s3cret\"}"))
+                .andExpect(status().isUnauthorized());
+
+        String body = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"token@example.com\",\"password\":\"s3cret\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode token = objectMapper.readTree(body).get("token");
+
+        mockMvc.perform(get("/books/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token.asText()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/books/1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token.asText() + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.PaginationProperties;
 import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
 import com.example.LibraryManagementSystem.service.AuthorService;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -18,6 +21,8 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,7 +41,7 @@ class AuthorControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        AuthorController authorController = new AuthorController(authorService);
+        AuthorController authorController = new AuthorController(authorService, new PaginationProperties(5, 100), new CatalogueChanges());
         mockMvc = MockMvcBuilders.standaloneSetup(authorController).build();
     }
 
@@ -89,6 +94,18 @@ class AuthorControllerTest {
         verify(authorService, times(1)).getAuthorById(1L);
     }
 
+    @Test
+    void getAuthorById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(authorService.getAuthorVersion(1L)).thenReturn(new VersionStamp(2L, new Date()));
+
+        mockMvc.perform(get("/authors/{id}", 1L)
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2\""));
+
+        verify(authorService, never()).getAuthorById(anyLong());
+    }
+
     @Test
     void createAuthor_ShouldReturnCreatedAuthor() throws Exception {
         Author author = new Author();
@@ -156,4 +173,21 @@ class AuthorControllerTest {
 
         verify(authorService, times(1)).deleteAuthor(1L);
     }
+
+    @Test
+    void getAuthorsByIds_ShouldAnswerInRequestOrderWithNotFoundMarkers() throws Exception {
+        Author author = new Author();
+        author.setId(2L);
+        author.setName("Tolkien");
+        when(authorService.getAuthorsByIds(List.of(9L, 2L))).thenReturn(Map.of(2L, author));
+
+        mockMvc.perform(get("/authors").param("ids", "9,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(9))
+                .andExpect(jsonPath("$[0].found").value(false))
+                .andExpect(jsonPath("$[1].found").value(true))
+                .andExpect(jsonPath("$[1].item.name").value("Tolkien"));
+
+        verify(authorService, never()).getAllAuthors(any(Pageable.class));
+    }
 }
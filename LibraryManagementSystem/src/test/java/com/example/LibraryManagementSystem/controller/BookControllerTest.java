@@ -1,8 +1,18 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.AvailabilityProperties;
+import com.example.LibraryManagementSystem.config.PaginationProperties;
+import com.example.LibraryManagementSystem.config.SearchProperties;
 import com.example.LibraryManagementSystem.domain.Author;
 import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.dto.BookAvailabilityView;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.search.BookFacetIndex;
+import com.example.LibraryManagementSystem.search.FacetedBooks;
+import com.example.LibraryManagementSystem.search.IsbnMatch;
 import com.example.LibraryManagementSystem.service.BookService;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -15,13 +25,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.hateoas.Link;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -36,10 +55,13 @@ class BookControllerTest {
     @Mock
     private BookService bookService;
 
+    private final CatalogueChanges catalogueChanges = new CatalogueChanges();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        BookController bookController = new BookController(bookService);
+        BookController bookController = new BookController(bookService, new PaginationProperties(5, 100), new AvailabilityProperties(3),
+                new SearchProperties(0.45, 2, 500), catalogueChanges);
 
         mockMvc = MockMvcBuilders.standaloneSetup(bookController).build();
 
@@ -65,6 +87,71 @@ class BookControllerTest {
         verify(bookService, times(1)).getAllBooks(pageable);
     }
 
+    @Test
+    void getAllBooks_ShouldUseRequestedPageSize() throws Exception {
+        Pageable pageable = PageRequest.of(2, 20);
+        when(bookService.getAllBooks(pageable)).thenReturn(new PageImpl<>(Collections.emptyList(), pageable, 40));
+
+        mockMvc.perform(get("/books")
+                        .param("page", "2")
+                        .param("size", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.size").value(20));
+
+        verify(bookService, times(1)).getAllBooks(pageable);
+    }
+
+    @Test
+    void getAllBooks_ShouldSkipCountQuery_WhenCountDisabled() throws Exception {
+        Pageable pageable = PageRequest.of(0, 5);
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Test Book");
+
+        when(bookService.getBooksSlice(pageable)).thenReturn(new SliceImpl<>(Collections.singletonList(book), pageable, true));
+
+        mockMvc.perform(get("/books")
+                        .param("count", "false")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')].href").value(hasItem(containsString("page=1"))));
+
+        verify(bookService, never()).getAllBooks(any(Pageable.class));
+    }
+
+    @Test
+    void getAllBooks_ShouldSeekPastCursor_WhenCursorProvided() throws Exception {
+        Book first = new Book();
+        first.setId(7L);
+        Book second = new Book();
+        second.setId(9L);
+
+        when(bookService.getBooksAfter(0L, 2)).thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true));
+        when(bookService.getBooksAfter(9L, 2)).thenReturn(new SliceImpl<>(Collections.emptyList(), PageRequest.of(0, 2), false));
+
+        List<String> nextHrefs = JsonPath.read(mockMvc.perform(get("/books")
+                                .param("cursor", "")
+                                .param("size", "2")
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content[1].id").value(9))
+                        .andReturn().getResponse().getContentAsString(),
+                "$.links[?(@.rel == 'next')].href");
+        String nextCursor = UriComponentsBuilder.fromUriString(Link.of(nextHrefs.get(0)).expand().getHref()).build().getQueryParams().getFirst("cursor");
+
+        mockMvc.perform(get("/books")
+                        .param("cursor", nextCursor)
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')]").isEmpty());
+
+        verify(bookService, times(1)).getBooksAfter(9L, 2);
+        verify(bookService, never()).getAllBooks(any(Pageable.class));
+    }
+
     @Test
     void getBookById_ShouldReturnBook_WhenBookExists() throws Exception {
         Book book = new Book();
@@ -94,6 +181,73 @@ class BookControllerTest {
         verify(bookService, times(1)).getBookById(1L);
     }
 
+    @Test
+    void getBookById_ShouldCarryValidators() throws Exception {
+        Date modified = new Date(1_700_000_000_000L);
+        Author author = new Author();
+        author.setId(2L);
+        author.setVersion(1L);
+        Book book = new Book();
+        book.setId(1L);
+        book.setVersion(3L);
+        book.setLastModified(modified);
+        book.setAuthor(author);
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        mockMvc.perform(get("/books/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(header().dateValue("Last-Modified", modified.getTime()));
+
+        verify(bookService, never()).getBookVersion(anyLong());
+    }
+
+    @Test
+    void getBookById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(bookService.getBookVersion(1L)).thenReturn(new VersionStamp(3L, new Date(), 1L, null));
+
+        mockMvc.perform(get("/books/{id}", 1L)
+                        .header("If-None-Match", "\"3.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.1\""))
+                .andExpect(content().string(""));
+
+        verify(bookService, never()).getBookById(anyLong());
+    }
+
+    @Test
+    void getBookById_ShouldReturnBook_WhenETagIsStale() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        book.setVersion(4L);
+        when(bookService.getBookVersion(1L)).thenReturn(new VersionStamp(4L, null));
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        mockMvc.perform(get("/books/{id}", 1L)
+                        .header("If-None-Match", "\"3.1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4.\""))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void getAllBooks_ShouldReturnNotModified_UntilTheCatalogueChanges() throws Exception {
+        when(bookService.getAllBooks(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.emptyList()));
+        String etag = mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/books").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(bookService, times(1)).getAllBooks(any(Pageable.class));
+
+        catalogueChanges.changed();
+
+        mockMvc.perform(get("/books").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(bookService, times(2)).getAllBooks(any(Pageable.class));
+    }
+
     @Test
     void createBook_ShouldReturnCreatedBook() throws Exception {
         Book book = new Book();
@@ -242,4 +396,151 @@ class BookControllerTest {
         verify(bookService, never()).searchBooksByAuthor(anyString());
         verify(bookService, never()).searchBooksByIsbn(anyString());
     }
+
+    @Test
+    void getAvailability_ShouldAnswerFromServiceWithDistinctIds() throws Exception {
+        when(bookService.getAvailability(new LinkedHashSet<>(List.of(1L, 2L, 9L))))
+                .thenReturn(new BookAvailabilityView(List.of(1L), List.of(2L), List.of(9L)));
+
+        mockMvc.perform(get("/books/availability")
+                        .param("ids", "1,2,1,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available[0]").value(1))
+                .andExpect(jsonPath("$.unavailable[0]").value(2))
+                .andExpect(jsonPath("$.unknown[0]").value(9));
+    }
+
+    @Test
+    void postAvailability_ShouldAcceptIdsInBody() throws Exception {
+        when(bookService.getAvailability(new LinkedHashSet<>(List.of(4L, 5L))))
+                .thenReturn(new BookAvailabilityView(List.of(4L, 5L), List.of(), List.of()));
+
+        mockMvc.perform(post("/books/availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[4,5]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available.length()").value(2));
+    }
+
+    @Test
+    void getAvailability_ShouldReturnBadRequest_WhenTooManyIds() throws Exception {
+        mockMvc.perform(get("/books/availability")
+                        .param("ids", "1,2,3,4"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).getAvailability(any());
+    }
+
+    @Test
+    void browseBooks_ShouldPassFacetFiltersAndReturnCounts() throws Exception {
+        Book book = new Book();
+        book.setId(7L);
+        book.setTitle("Test Book");
+        Map<BookFacetIndex.Facet, Set<String>> filters = Map.of(
+                BookFacetIndex.Facet.GENRE, Set.of("Fantasy", "Horror"),
+                BookFacetIndex.Facet.AVAILABLE, Set.of("true"));
+        when(bookService.browseBooks(filters, 0L, 5)).thenReturn(new FacetedBooks(List.of(book), true, 12,
+                Map.of(BookFacetIndex.Facet.GENRE, Map.of("Fantasy", 9, "Horror", 3))));
+
+        mockMvc.perform(get("/books/browse")
+                        .param("genre", "Fantasy", "Horror")
+                        .param("available", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(12))
+                .andExpect(jsonPath("$.facets.genre.Fantasy").value(9))
+                .andExpect(jsonPath("$.books[0].id").value(7))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    void searchBooksFuzzy_ShouldReturnRankedBooks() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("The Hobbit");
+
+        when(bookService.searchBooksFuzzy("hobit", 5)).thenReturn(List.of(book));
+
+        mockMvc.perform(get("/books/search/fuzzy")
+                        .param("q", "hobit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value("The Hobbit"));
+    }
+
+    @Test
+    void getBooksByIsbn_ShouldReturnAllCopies() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        book.setIsbn("9780345339683");
+        when(bookService.findBooksByIsbn(List.of("0-345-33968-1")))
+                .thenReturn(List.of(new IsbnMatch("0-345-33968-1", "9780345339683", List.of(book))));
+
+        mockMvc.perform(get("/books/isbn/{isbn}", "0-345-33968-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void getBooksByIsbn_ShouldReturnBadRequest_WhenChecksumFails() throws Exception {
+        when(bookService.findBooksByIsbn(List.of("0345339682")))
+                .thenReturn(List.of(new IsbnMatch("0345339682", null, List.of())));
+
+        mockMvc.perform(get("/books/isbn/{isbn}", "0345339682"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBooksByIsbn_ShouldReturnNotFound_WhenNoCopies() throws Exception {
+        when(bookService.findBooksByIsbn(List.of("9780345339683")))
+                .thenReturn(List.of(new IsbnMatch("9780345339683", "9780345339683", List.of())));
+
+        mockMvc.perform(get("/books/isbn/{isbn}", "9780345339683"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBooksByIsbns_ShouldAnswerEveryBarcodeInOrder() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        when(bookService.findBooksByIsbn(List.of("9780345339683", "junk"))).thenReturn(List.of(
+                new IsbnMatch("9780345339683", "9780345339683", List.of(book)),
+                new IsbnMatch("junk", null, List.of())));
+
+        mockMvc.perform(post("/books/isbn")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"9780345339683\", \"junk\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].valid").value(true))
+                .andExpect(jsonPath("$[0].books[0].id").value(1))
+                .andExpect(jsonPath("$[1].query").value("junk"))
+                .andExpect(jsonPath("$[1].valid").value(false));
+    }
+
+    @Test
+    void getBooksByIsbns_ShouldReturnBadRequest_WhenBatchTooLarge() throws Exception {
+        mockMvc.perform(post("/books/isbn")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\", \"2\", \"3\"]"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).findBooksByIsbn(any());
+    }
+
+    @Test
+    void getBooksByIds_ShouldAnswerInRequestOrderWithNotFoundMarkers() throws Exception {
+        Book book = new Book();
+        book.setId(5L);
+        book.setTitle("Test Book");
+        when(bookService.getBooksByIds(List.of(5L, 6L, 5L))).thenReturn(Map.of(5L, book));
+
+        mockMvc.perform(get("/books").param("ids", "5,6,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].item.title").value("Test Book"))
+                .andExpect(jsonPath("$[0].item.links[0].href").value(containsString("/books/5")))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[2].id").value(5));
+
+        verify(bookService, never()).getAllBooks(any(Pageable.class));
+    }
 }
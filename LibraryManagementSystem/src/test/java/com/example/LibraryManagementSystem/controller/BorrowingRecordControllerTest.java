@@ -1,9 +1,15 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.CheckoutProperties;
+import com.example.LibraryManagementSystem.config.PaginationProperties;
 import com.example.LibraryManagementSystem.domain.Book;
 import com.example.LibraryManagementSystem.domain.BorrowingRecord;
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.exception.CheckoutConflictException;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
 import com.example.LibraryManagementSystem.service.BorrowingRecordService;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
+import com.example.LibraryManagementSystem.service.LoanResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -20,6 +26,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
@@ -41,7 +48,8 @@ class BorrowingRecordControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        borrowingRecordController = new BorrowingRecordController(borrowingRecordService);
+        borrowingRecordController = new BorrowingRecordController(borrowingRecordService, new PaginationProperties(5, 100),
+                new CheckoutProperties(16, Duration.ofDays(14), 3), new CatalogueChanges());
         mockMvc = MockMvcBuilders.standaloneSetup(borrowingRecordController).build();
     }
 
@@ -94,6 +102,17 @@ class BorrowingRecordControllerTest {
         verify(borrowingRecordService, times(1)).getBorrowingRecordById(nonExistentRecordId);
     }
 
+    @Test
+    void getBorrowingRecordById_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(borrowingRecordService.getBorrowingRecordVersion(1L)).thenReturn(new VersionStamp(1L, null, 2L, null, 7L, null));
+
+        mockMvc.perform(get("/borrowings/{id}", 1L)
+                        .header("If-None-Match", "W/\"1.2.7\""))
+                .andExpect(status().isNotModified());
+
+        verify(borrowingRecordService, never()).getBorrowingRecordById(anyLong());
+    }
+
     @Test
     void createBorrowingRecord_ShouldReturnCreatedRecord() throws Exception {
         BorrowingRecord newRecord = new BorrowingRecord();
@@ -171,6 +190,29 @@ class BorrowingRecordControllerTest {
         verify(borrowingRecordService, times(1)).updateBorrowingRecord(eq(nonExistentRecordId), anyLong(), anyLong(), any(BorrowingRecord.class));
     }
 
+    @Test
+    void returnBorrowingRecord_ShouldReturnRecord_WhenLoanIsOpen() throws Exception {
+        BorrowingRecord record = new BorrowingRecord();
+        record.setId(1L);
+
+        when(borrowingRecordService.returnBorrowingRecord(1L)).thenReturn(record);
+
+        mockMvc.perform(post("/borrowings/{id}/return", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void returnBorrowingRecord_ShouldReturnConflict_WhenAlreadyReturned() throws Exception {
+        when(borrowingRecordService.returnBorrowingRecord(1L)).thenThrow(new CheckoutConflictException("Borrowing record 1 is already returned"));
+        when(borrowingRecordService.returnBorrowingRecord(2L)).thenThrow(new RuntimeException("BorrowingRecord not found"));
+
+        mockMvc.perform(post("/borrowings/{id}/return", 1L))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/borrowings/{id}/return", 2L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void deleteBorrowingRecord_ShouldDeleteRecord() throws Exception {
         Long recordId = 1L;
@@ -207,4 +249,57 @@ class BorrowingRecordControllerTest {
         verify(borrowingRecordService, never()).findByCustomerId(anyLong());
         verify(borrowingRecordService, never()).findByBookId(anyLong());
     }
+
+    @Test
+    void checkoutBasket_ShouldReturnOneResultPerBook() throws Exception {
+        BorrowingRecord loan = new BorrowingRecord();
+        loan.setId(7L);
+        when(borrowingRecordService.checkoutBasket(1L, List.of(1L, 2L))).thenReturn(List.of(
+                new LoanResult(1L, LoanResult.Status.OK, null, loan),
+                new LoanResult(2L, LoanResult.Status.CONFLICT, "Book 2 is already borrowed", null)));
+
+        mockMvc.perform(post("/borrowings/basket")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\": 1, \"bookIds\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("OK"))
+                .andExpect(jsonPath("$[0].record.id").value(7))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$[1].message").value("Book 2 is already borrowed"));
+    }
+
+    @Test
+    void checkoutBasket_ShouldReturnBadRequest_WhenBasketIsTooLarge() throws Exception {
+        mockMvc.perform(post("/borrowings/basket")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\": 1, \"bookIds\": [1, 2, 3, 4]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(borrowingRecordService, never()).checkoutBasket(anyLong(), anyList());
+    }
+
+    @Test
+    void checkoutBasket_ShouldReturnNotFound_WhenCustomerDoesNotExist() throws Exception {
+        when(borrowingRecordService.checkoutBasket(9L, List.of(1L))).thenThrow(new RuntimeException("Customer not found"));
+
+        mockMvc.perform(post("/borrowings/basket")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\": 9, \"bookIds\": [1]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Customer not found"));
+    }
+
+    @Test
+    void returnBasket_ShouldReturnOneResultPerRecord() throws Exception {
+        when(borrowingRecordService.returnBasket(List.of(4L))).thenReturn(List.of(
+                new LoanResult(4L, LoanResult.Status.NOT_FOUND, "Borrowing record 4 not found", null)));
+
+        mockMvc.perform(post("/borrowings/returns")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[4]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[0].record").doesNotExist());
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.LibraryManagementSystem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Flyway holds two connections while it migrates, so it gets its own datasource and the pool of one is left to the
+// application; DB_CLOSE_DELAY keeps the in-memory database alive after Flyway closes its connections.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-test;DB_CLOSE_DELAY=-1",
+        "spring.flyway.url=jdbc:h2:mem:pool-test;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "spring.flyway.password=",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=250",
+        "library.outbox.poll-interval=PT1H",
+        "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+class ConnectionPoolSaturationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void requests_ShouldFailFastWithServiceUnavailable_WhenPoolIsExhausted() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            mockMvc.perform(get("/books?page=0&size=5"))
+                    .andExpect(status().isServiceUnavailable());
+            mockMvc.perform(get("/borrowings/1"))
+                    .andExpect(status().isServiceUnavailable());
+        }
+        mockMvc.perform(get("/books?page=0&size=5"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.LibraryManagementSystem.controller;
 
+import com.example.LibraryManagementSystem.config.PaginationProperties;
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.dto.VersionStamp;
+import com.example.LibraryManagementSystem.service.CatalogueChanges;
 import com.example.LibraryManagementSystem.service.CustomerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +23,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -40,7 +45,7 @@ class CustomerControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        customerController = new CustomerController(customerService);
+        customerController = new CustomerController(customerService, new PaginationProperties(5, 100), new CatalogueChanges());
         mockMvc = MockMvcBuilders.standaloneSetup(customerController).build();
     }
 
@@ -95,6 +100,19 @@ class CustomerControllerTest {
         verify(customerService, times(1)).getCustomerById(nonExistentCustomerId);
     }
 
+    @Test
+    void getCustomerById_ShouldReturnNotModified_WhenUnchangedSinceDate() throws Exception {
+        Date modified = new Date(1_700_000_000_000L);
+        when(customerService.getCustomerVersion(1L)).thenReturn(new VersionStamp(5L, modified));
+
+        mockMvc.perform(get("/customers/{id}", 1L)
+                        .header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"5\""));
+
+        verify(customerService, never()).getCustomerById(anyLong());
+    }
+
     @Test
     void createCustomer_ShouldReturnCreatedCustomer() throws Exception {
         Customer newCustomer = new Customer();
@@ -158,4 +176,29 @@ class CustomerControllerTest {
 
         verify(customerService, times(1)).deleteCustomer(customerId);
     }
+
+    @Test
+    void getCustomersByIds_ShouldAnswerInRequestOrderWithNotFoundMarkers() throws Exception {
+        Customer customer = new Customer();
+        customer.setId(3L);
+        customer.setName("Ada");
+        when(customerService.getCustomersByIds(List.of(3L, 4L))).thenReturn(Map.of(3L, customer));
+
+        mockMvc.perform(get("/customers").param("ids", "3,4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.name").value("Ada"))
+                .andExpect(jsonPath("$[0].item.password").doesNotExist())
+                .andExpect(jsonPath("$[1].id").value(4))
+                .andExpect(jsonPath("$[1].found").value(false));
+    }
+
+    @Test
+    void getCustomersByIds_ShouldReturnBadRequest_WhenTooManyIds() throws Exception {
+        String ids = String.join(",", Collections.nCopies(101, "1"));
+
+        mockMvc.perform(get("/customers").param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(customerService, never()).getCustomersByIds(any());
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.LibraryManagementSystem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:export-test", "library.export.fetch-size=3",
+        "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void exportBooks_ShouldStreamOneJsonObjectPerLine() throws Exception {
+        List<String> lines = export(get("/exports/books"), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(10, lines.size());
+        assertEquals("{\"id\":1,\"title\":\"The Shining\",\"authorId\":1,\"isbn\":\"9780385121681\",\"publicationDate\":\"1977-01-28\","
+                + "\"genre\":\"Horror\",\"available\":true}", lines.get(0));
+    }
+
+    @Test
+    void exportCustomers_ShouldWriteQuotedCsvWithoutPasswords() throws Exception {
+        List<String> lines = export(get("/exports/customers").accept("text/csv"), new MediaType("text", "csv"));
+
+        assertEquals(11, lines.size());
+        assertEquals("id,name,email,address,phoneNumber", lines.get(0));
+        assertEquals("1,John Smith,john@example.com,\"123 Main St, Anytown\",+1234567890", lines.get(1));
+    }
+
+    @Test
+    void exportBorrowings_ShouldFilterByCustomer() throws Exception {
+        List<String> lines = export(get("/exports/borrowings").param("userId", "2"), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":2,\"customerId\":2,\"bookId\":2,\"borrowDate\":\"2024-05-02\""));
+    }
+
+    @Test
+    void export_ShouldRejectUnsupportedFormats() throws Exception {
+        mockMvc.perform(get("/exports/books").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private List<String> export(MockHttpServletRequestBuilder builder, MediaType expectedType) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(expectedType))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("attachment")))
+                .andReturn().getResponse().getContentAsString();
+        return body.lines().toList();
+    }
+}
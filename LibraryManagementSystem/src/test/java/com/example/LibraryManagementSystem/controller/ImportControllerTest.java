@@ -0,0 +1,132 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.repo.AuthorRepository;
+import com.example.LibraryManagementSystem.repo.CustomerRepository;
+import com.example.LibraryManagementSystem.repo.OutboxEventRepository;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:import-test",
+        "library.import.batch-size=4",
+        "library.import.max-reported-errors=2",
+        "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void importAuthors_ShouldInsertAllRowsAcrossBatches() throws Exception {
+        long before = authorRepository.count();
+        String body = IntStream.range(0, 10)
+                .mapToObj(i -> "{\"name\":\"Imported Author " + i + "\",\"birthDate\":\"1950-01-01\",\"nationality\":\"Test\"}")
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post("/imports/authors").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(10))
+                .andExpect(jsonPath("$.imported").value(10))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertEquals(before + 10, authorRepository.count());
+    }
+
+    @Test
+    void importAuthors_ShouldRecordAChangeEventPerImportedRow() throws Exception {
+        String body = IntStream.range(0, 6)
+                .mapToObj(i -> "{\"name\":\"Outbox Author " + i + "\",\"birthDate\":\"1950-01-01\",\"nationality\":\"Test\"}")
+                .collect(Collectors.joining("\n"));
+
+        mockMvc.perform(post("/imports/authors").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(6));
+
+        Set<Long> imported = authorRepository.findAll().stream()
+                .filter(author -> author.getName().startsWith("Outbox Author "))
+                .map(author -> author.getId())
+                .collect(Collectors.toSet());
+        long events = outboxEventRepository.findAll().stream()
+                .filter(event -> "AUTHOR".equals(event.getAggregateType()) && "CREATED".equals(event.getChangeType()))
+                .filter(event -> imported.contains(event.getAggregateId()))
+                .count();
+        assertEquals(6, imported.size());
+        assertEquals(6, events);
+    }
+
+    @Test
+    void importBooks_ShouldReportBadRowsAndKeepTheRest() throws Exception {
+        String body = """
+                title,authorId,isbn,publicationDate,genre
+                Imported Alpha,1,9990000000001,2001-01-01,Fantasy
+                Imported Beta,999,9990000000002,2001-01-01,Fantasy
+                "Imported, Gamma",2,9990000000003,2001-01-01,Horror
+                ,1,9990000000004,2001-01-01,Fantasy
+                Imported Delta,1,99900000000050000,2001-01-01,Fantasy
+                Imported Epsilon,3,9990000000006,not-a-date,Fantasy
+                """;
+
+        mockMvc.perform(post("/imports/books").contentType(new MediaType("text", "csv")).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.errors.length()").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Author not found: 999"))
+                .andExpect(jsonPath("$.errors[1].line").value(5))
+                .andExpect(jsonPath("$.errors[1].message", startsWith("title:")));
+
+        assertEquals(1, bookSearchIndex.searchByTitle("imported alpha").size());
+        assertEquals(1, bookSearchIndex.searchByTitle("imported, gamma").size());
+    }
+
+    @Test
+    void importCustomers_ShouldHashPasswords() throws Exception {
+        String body = "{\"name\":\"Imported Customer\",\"email\":\"imported@example.com\",\"phoneNumber\":\"+15550000000\",\"password\":\"secret\"}";
+
+        mockMvc.perform(post("/imports/customers").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+
+        String password = customerRepository.findAll().stream()
+                .filter(customer -> "imported@example.com".equals(customer.getEmail()))
+                .findFirst().orElseThrow().getPassword();
+        assertNotEquals("secret", password);
+        assertTrue(password.startsWith("$2"));
+    }
+
+    @Test
+    void importBooks_ShouldRejectUnsupportedContentType() throws Exception {
+        mockMvc.perform(post("/imports/books").contentType(MediaType.APPLICATION_XML).content("<book/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
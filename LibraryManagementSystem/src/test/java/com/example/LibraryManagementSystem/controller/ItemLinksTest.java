@@ -0,0 +1,86 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.dto.AuthorView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+class ItemLinksTest {
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/api/v1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // Links from linkTo(methodOn(...)) also carry affordances, which HAL does not render, so href and rel are compared.
+    @Test
+    void toModel_ShouldMatchLinksBuiltFromControllerMethods() {
+        ItemLinks links = ItemLinks.of(AuthorController.class,
+                methodOn(AuthorController.class).getAllAuthors(2, null, null, null), "authors");
+
+        EntityModel<AuthorView> model = links.toModel(new AuthorView(7L, "Ursula K. Le Guin", null, "American"), 7L);
+
+        assertSameTarget(linkTo(methodOn(AuthorController.class).getAuthorById(7L)).withSelfRel(),
+                model.getRequiredLink(IanaLinkRelations.SELF));
+        assertSameTarget(linkTo(methodOn(AuthorController.class).getAllAuthors(2, null, null, null)).withRel("authors"),
+                model.getRequiredLink("authors"));
+        assertEquals("http://localhost/api/v1/authors/7", model.getRequiredLink(IanaLinkRelations.SELF).getHref());
+    }
+
+    @Test
+    void toModel_ShouldRenderTheSameHalJsonAsPerItemLinkTo() throws Exception {
+        AuthorView author = new AuthorView(7L, "Ursula K. Le Guin", null, "American");
+        ItemLinks links = ItemLinks.of(AuthorController.class,
+                methodOn(AuthorController.class).getAllAuthors(2, null, null, null), "authors");
+        EntityModel<AuthorView> perItem = EntityModel.of(author,
+                linkTo(methodOn(AuthorController.class).getAuthorById(7L)).withSelfRel(),
+                linkTo(methodOn(AuthorController.class).getAllAuthors(2, null, null, null)).withRel("authors"));
+
+        ObjectMapper hal = new ObjectMapper();
+        hal.registerModule(new Jackson2HalModule());
+        hal.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(new DefaultLinkRelationProvider(),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        assertEquals(hal.writeValueAsString(perItem), hal.writeValueAsString(links.toModel(author, 7L)));
+    }
+
+    @Test
+    void toModel_ShouldShareTheCollectionLinkAcrossItems() {
+        ItemLinks links = ItemLinks.of(AuthorController.class,
+                methodOn(AuthorController.class).getAllAuthors(0, null, null, null), "authors");
+
+        EntityModel<AuthorView> first = links.toModel(new AuthorView(1L, "A", null, null), 1L);
+        EntityModel<AuthorView> second = links.toModel(new AuthorView(2L, "B", null, null), 2L);
+
+        assertSame(first.getRequiredLink("authors"), second.getRequiredLink("authors"));
+        assertEquals("http://localhost/api/v1/authors/2", second.getRequiredLink(IanaLinkRelations.SELF).getHref());
+    }
+
+    private static void assertSameTarget(Link expected, Link actual) {
+        assertEquals(expected.getRel(), actual.getRel());
+        assertEquals(expected.getHref(), actual.getHref());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.LibraryManagementSystem.controller;
+
+import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.repo.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statistics are global, so the outbox relay must not poll in the background while statements are counted.
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true", "library.outbox.poll-interval=PT1H",
+        "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void bookEndpoints_ShouldUseFixedStatementCount() throws Exception {
+        assertStatements(2, "/books?page=0&size=10");
+        assertStatements(1, "/books?page=0&size=10&count=false");
+        assertStatements(1, "/books?cursor=&size=10");
+        assertStatements(1, "/books/1");
+        assertStatements(0, "/books/1");
+        assertStatements(0, "/books/search?title=the");
+    }
+
+    @Test
+    void authorEndpoints_ShouldUseFixedStatementCount() throws Exception {
+        assertStatements(2, "/authors?page=0&size=10");
+        assertStatements(1, "/authors?cursor=&size=10");
+        assertStatements(1, "/authors/1");
+        assertStatements(0, "/authors/1");
+    }
+
+    @Test
+    void customerEndpoints_ShouldUseFixedStatementCount() throws Exception {
+        assertStatements(2, "/customers?page=0&size=10");
+        assertStatements(1, "/customers?cursor=&size=10");
+        assertStatements(1, "/customers/1");
+    }
+
+    @Test
+    void borrowingEndpoints_ShouldUseFixedStatementCount() throws Exception {
+        assertStatements(2, "/borrowings?page=0&size=10");
+        assertStatements(1, "/borrowings?cursor=&size=10");
+        assertStatements(1, "/borrowings/1");
+        assertStatements(1, "/borrowings/search?userId=1");
+        assertStatements(1, "/borrowings/search?bookId=1");
+    }
+
+    @Test
+    void conditionalGets_ShouldBeAnsweredWithoutLoadingEntities() throws Exception {
+        String bookTag = etagOf("/books/2");
+        assertNotModified(0, "/books/2", bookTag);
+        String customerTag = etagOf("/customers/2");
+        assertNotModified(1, "/customers/2", customerTag);
+        String borrowingTag = etagOf("/borrowings/2");
+        assertNotModified(1, "/borrowings/2", borrowingTag);
+        String listingTag = etagOf("/customers?page=0&size=10");
+        assertNotModified(0, "/customers?page=0&size=10", listingTag);
+    }
+
+    @Test
+    void committedWrite_ShouldChangeItemAndListingTags() throws Exception {
+        String itemTag = etagOf("/customers/3");
+        String listingTag = etagOf("/customers?page=0&size=10");
+
+        Customer customer = customerRepository.findById(3L).orElseThrow();
+        String address = customer.getAddress();
+        customer.setAddress(address + " (moved)");
+        customerRepository.save(customer);
+
+        assertNotEquals(itemTag, etagOf("/customers/3"));
+        assertNotEquals(listingTag, etagOf("/customers?page=0&size=10"));
+
+        customer = customerRepository.findById(3L).orElseThrow();
+        customer.setAddress(address);
+        customerRepository.save(customer);
+    }
+
+    private String etagOf(String uri) throws Exception {
+        return mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    // A 304 costs at most the version lookup, and no entity is ever loaded for it.
+    private void assertNotModified(long expected, String uri, String etag) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(uri).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements for conditional " + uri);
+        assertEquals(0, statistics.getEntityLoadCount(), "Entities loaded for conditional " + uri);
+    }
+
+    private void assertStatements(long expected, String uri) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount(), "SQL statements for " + uri);
+    }
+}
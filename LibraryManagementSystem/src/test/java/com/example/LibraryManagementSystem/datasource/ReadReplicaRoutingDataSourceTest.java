@@ -0,0 +1,155 @@
+package com.example.LibraryManagementSystem.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicReference<String> caller = new AtomicReference<>("user:alice");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReadReplicaRoutingDataSource(primary, replica, Duration.ofSeconds(2), Duration.ofSeconds(30),
+                meterRegistry, now::get, caller::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endTransaction();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() throws SQLException {
+        beginTransaction(true);
+
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(1, routed("read-only"));
+    }
+
+    @Test
+    void writesAndNonTransactionalWork_ShouldUsePrimary() throws SQLException {
+        assertSame(primaryConnection, WriteTrackingConnection.targetOf(routing.getConnection()));
+
+        beginTransaction(false);
+        assertSame(primaryConnection, WriteTrackingConnection.targetOf(routing.getConnection()));
+
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void reads_ShouldStayOnPrimary_UntilCommittedWriteHadTimeToReplicate() throws SQLException {
+        beginTransaction(false);
+        routing.getConnection().prepareStatement("UPDATE customer SET name = ? WHERE id = ?");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        beginTransaction(true);
+        now.addAndGet(1_999);
+        assertSame(primaryConnection, routing.getConnection());
+        now.addAndGet(1);
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(1, routed("replica-lag"));
+    }
+
+    @Test
+    void committedWrite_ShouldOnlyHoldTheWritersReadsOnPrimary() throws SQLException {
+        beginTransaction(false);
+        routing.getConnection().prepareStatement("INSERT INTO author (id, name) VALUES (?, ?)");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        beginTransaction(true);
+        caller.set("user:bob");
+        assertSame(replicaConnection, routing.getConnection());
+        caller.set(null);
+        assertSame(replicaConnection, routing.getConnection());
+        caller.set("user:alice");
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void readWriteTransactionThatOnlyRead_ShouldNotHoldReadsOnPrimary() throws SQLException {
+        beginTransaction(false);
+        routing.getConnection().prepareStatement("SELECT * FROM author WHERE id = ? FOR UPDATE");
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        beginTransaction(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void rolledBackWrite_ShouldNotHoldReadsOnPrimary() throws SQLException {
+        beginTransaction(false);
+        routing.getConnection().prepareStatement("DELETE FROM author WHERE id = ?");
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        beginTransaction(true);
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void unavailableReplica_ShouldFallBackToPrimary_AndBeRetriedLater() throws SQLException {
+        when(replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available"))
+                .thenReturn(replicaConnection);
+        beginTransaction(true);
+
+        assertSame(primaryConnection, routing.getConnection());
+        now.addAndGet(29_999);
+        assertSame(primaryConnection, routing.getConnection());
+        verify(replica, times(1)).getConnection();
+
+        now.addAndGet(1);
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(2, routed("replica-unavailable"));
+    }
+
+    private double routed(String reason) {
+        return meterRegistry.get("library.datasource.connections").tag("reason", reason).counter().count();
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        endTransaction();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.LibraryManagementSystem.datasource;
+
+import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.repo.CustomerRepository;
+import com.example.LibraryManagementSystem.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two H2 databases with the same migrations; rows changed on one side only show which database served a query.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "library.datasource.replica.url=jdbc:h2:mem:routing-replica",
+        "library.datasource.replica.migrate=true",
+        "library.datasource.replica.max-lag=0s"})
+class ReadReplicaRoutingTest {
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:routing-replica", "sa", ""));
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyQueries_ShouldBeServedByReplica_AndWritesByPrimary() {
+        String name = customerService.getCustomerById(4L).getName();
+        replica.update("UPDATE customer SET name = ? WHERE id = 4", "Replica Copy");
+
+        assertEquals("Replica Copy", customerService.getCustomerById(4L).getName());
+        assertEquals(name, new TransactionTemplate(transactionManager).execute(status ->
+                customerRepository.findById(4L).orElseThrow().getName()));
+    }
+
+    @Test
+    void writes_ShouldLandOnPrimaryOnly() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Customer customer = customerRepository.findById(5L).orElseThrow();
+            customer.setPhoneNumber("+15550199000");
+        });
+
+        assertEquals("+15550199000", new TransactionTemplate(transactionManager).execute(status ->
+                customerRepository.findById(5L).orElseThrow().getPhoneNumber()));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM customer WHERE phone_number = '+15550199000'", Integer.class));
+    }
+}
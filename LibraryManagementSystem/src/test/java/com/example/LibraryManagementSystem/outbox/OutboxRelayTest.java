@@ -0,0 +1,158 @@
+package com.example.LibraryManagementSystem.outbox;
+
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.repo.OutboxOffsetRepository;
+import com.example.LibraryManagementSystem.service.AuthorService;
+import com.example.LibraryManagementSystem.service.BookService;
+import com.example.LibraryManagementSystem.service.BorrowingRecordService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The relay is driven by hand: the scheduled poll is pushed out of the way and the broker holds three events only.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-test",
+        "library.outbox.poll-interval=PT1H",
+        "library.outbox.batch-size=2",
+        "library.outbox.broker.enabled=true",
+        "library.outbox.broker.capacity=3",
+        "library.auth.enforced=false"})
+@AutoConfigureMockMvc
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private LocalBrokerSink broker;
+
+    @Autowired
+    private ReceivedEvents received;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        drainBroker();
+        received.events.clear();
+    }
+
+    @Test
+    void relay_ShouldDeliverCommittedChangesInOrder_AndResumeAfterBackpressure() {
+        Author author = authorService.createAuthor(author("Ursula K. Le Guin"));
+        Book first = bookService.createBook(book("The Dispossessed", author));
+        bookService.createBook(book("The Lathe of Heaven", author));
+        borrowingRecordService.createBorrowingRecord(1L, first.getId(), new BorrowingRecord());
+
+        assertEquals(5, relay.relay());
+        List<ChangeEvent> delivered = new ArrayList<>(broker.poll(10));
+        assertEquals(3, delivered.size());
+        assertEquals(delivered.get(2).position(), outboxOffsetRepository.findById("broker").orElseThrow().getPosition());
+
+        assertEquals(0, relay.relay());
+        delivered.addAll(broker.poll(10));
+
+        assertEquals(List.of("AUTHOR CREATED", "BOOK CREATED", "BOOK CREATED", "BOOK UPDATED", "LOAN CREATED"),
+                delivered.stream().map(event -> event.aggregate() + " " + event.change()).toList());
+        for (int i = 1; i < delivered.size(); i++) {
+            assertEquals(delivered.get(i - 1).position() + 1, delivered.get(i).position());
+        }
+        assertEquals(delivered, received.events);
+        assertEquals(0, broker.backlog());
+    }
+
+    @Test
+    void eventsEndpoint_ShouldResumeAfterGivenPosition() throws Exception {
+        Author author = authorService.createAuthor(author("Octavia E. Butler"));
+        authorService.deleteAuthor(author.getId());
+        relay.relay();
+        ChangeEvent created = received.events.get(0);
+
+        mockMvc.perform(get("/events").param("after", Long.toString(created.position() - 1)).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.events[0].aggregate").value("AUTHOR"))
+                .andExpect(jsonPath("$._embedded.events[0].change").value("CREATED"))
+                .andExpect(jsonPath("$._embedded.events[0].payload.name").value("Octavia E. Butler"))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("after=" + created.position())));
+
+        mockMvc.perform(get("/events").param("after", Long.toString(created.position())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.events[0].change").value("DELETED"))
+                .andExpect(jsonPath("$._embedded.events[0].payload.id").value(author.getId()));
+    }
+
+    private void drainBroker() {
+        do {
+            relay.relay();
+        } while (!broker.poll(Integer.MAX_VALUE).isEmpty());
+    }
+
+    private static Author author(String name) {
+        Author author = new Author();
+        author.setName(name);
+        author.setBirthDate(new Date(0));
+        author.setNationality("American");
+        return author;
+    }
+
+    private static Book book(String title, Author author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn("9780000000000");
+        book.setGenre("Science Fiction");
+        book.setAvailable(true);
+        return book;
+    }
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        ReceivedEvents receivedEvents() {
+            return new ReceivedEvents();
+        }
+    }
+
+    static class ReceivedEvents {
+
+        private final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void onChangeEvent(ChangeEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.LibraryManagementSystem.repo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs H2's EXPLAIN on the SQL behind each lookup method and fails when any table in it is read with a full scan,
+ * so a dropped index or a query that no longer matches one breaks the build. Unfiltered {@code findAll} paging
+ * reads the whole table by design and is not checked.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan-test",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.LibraryManagementSystem.repo.RepositoryQueryPlanTest$RecordingInspector"})
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void bookRepository_ShouldNotScanTables() throws Exception {
+        assertNoTableScan("findById", () -> bookRepository.findById(1L));
+        assertNoTableScan("findByIdGreaterThanOrderByIdAsc", () -> bookRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(10)));
+    }
+
+    @Test
+    void borrowingRecordRepository_ShouldNotScanTables() throws Exception {
+        assertNoTableScan("findById", () -> borrowingRecordRepository.findById(1L));
+        assertNoTableScan("findByCustomerId", () -> borrowingRecordRepository.findByCustomerId(1L));
+        assertNoTableScan("findByBookId", () -> borrowingRecordRepository.findByBookId(1L));
+        assertNoTableScan("existsByBookIdAndReturnDateIsNull", () -> borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(1L));
+        assertNoTableScan("findByIdGreaterThanOrderByIdAsc", () -> borrowingRecordRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(10)));
+        assertNoTableScan("findDueAfter", () -> borrowingRecordRepository.findDueAfter(new Date(0), 0L, new Date(), Limit.of(10)));
+    }
+
+    @Test
+    void overdueScan_ShouldSkipReturnedLoansInsideTheIndex() throws Exception {
+        RecordingInspector.STATEMENTS.clear();
+        borrowingRecordRepository.findDueAfter(new Date(0), 0L, new Date(), Limit.of(10));
+        String plan = explain(RecordingInspector.STATEMENTS.get(0));
+        assertTrue(plan.contains("BORROWING_RECORD_OPEN_DUE_IDX"), "findDueAfter does not use the open-loan index:\n" + plan);
+        assertTrue(plan.contains("RETURN_DATE IS NULL"), "findDueAfter filters returned loans outside the index:\n" + plan);
+    }
+
+    private void assertNoTableScan(String method, Runnable call) throws SQLException {
+        RecordingInspector.STATEMENTS.clear();
+        call.run();
+        assertFalse(RecordingInspector.STATEMENTS.isEmpty(), method + " issued no SQL");
+        for (String sql : RecordingInspector.STATEMENTS) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(".tableScan"), method + " falls back to a table scan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.dto.BookAvailabilityView;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookAvailabilityIndexTest {
+
+    private final BookAvailabilityIndex availabilityIndex = new BookAvailabilityIndex();
+
+    @Test
+    void lookup_ShouldSplitIdsByShelfStateInRequestOrder() {
+        availabilityIndex.put(3L, true);
+        availabilityIndex.put(1L, false);
+        availabilityIndex.put(2L, true);
+
+        BookAvailabilityView result = availabilityIndex.lookup(List.of(2L, 1L, 9L, 3L));
+
+        assertEquals(List.of(2L, 3L), result.available());
+        assertEquals(List.of(1L), result.unavailable());
+        assertEquals(List.of(9L), result.unknown());
+    }
+
+    @Test
+    void updateAvailability_ShouldIgnoreBooksThatAreNotCatalogued() {
+        availabilityIndex.put(1L, true);
+
+        availabilityIndex.updateAvailability(1L, false);
+        availabilityIndex.updateAvailability(2L, true);
+
+        assertEquals(List.of(1L), availabilityIndex.lookup(List.of(1L)).unavailable());
+        assertEquals(List.of(2L), availabilityIndex.lookup(List.of(2L)).unknown());
+        assertEquals(1, availabilityIndex.size());
+    }
+
+    @Test
+    void remove_ShouldForgetTheBook() {
+        availabilityIndex.put(1L, true);
+
+        availabilityIndex.remove(1L);
+
+        assertEquals(List.of(1L), availabilityIndex.lookup(List.of(1L)).unknown());
+        assertEquals(0, availabilityIndex.size());
+    }
+
+    @Test
+    void lookup_ShouldReportIdsOutsideTheBitmapRangeAsUnknown() {
+        availabilityIndex.put(-1L, true);
+        availabilityIndex.put(Integer.MAX_VALUE + 1L, true);
+
+        BookAvailabilityView result = availabilityIndex.lookup(Arrays.asList(-1L, Integer.MAX_VALUE + 1L, null));
+
+        assertEquals(Arrays.asList(-1L, Integer.MAX_VALUE + 1L, null), result.unknown());
+        assertEquals(0, availabilityIndex.size());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.LibraryManagementSystem.search.BookFacetIndex.Facet.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookFacetIndexTest {
+
+    private BookFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        facetIndex = new BookFacetIndex();
+        facetIndex.add(book(1L, "Fantasy", 1937, true, "British"));
+        facetIndex.add(book(2L, "Horror", 1977, false, "American"));
+        facetIndex.add(book(3L, "Fantasy", 1954, false, "British"));
+        facetIndex.add(book(4L, "Fantasy", 1977, true, "American"));
+    }
+
+    @Test
+    void browse_ShouldReturnPrecomputedCountsWithoutFilters() {
+        BookFacetIndex.Result result = facetIndex.browse(Map.of(), 0L, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.ids());
+        assertEquals(4, result.total());
+        assertEquals(Map.of("Fantasy", 3, "Horror", 1), result.counts().get(GENRE));
+        assertEquals(List.of("1977", "1937", "1954"), List.copyOf(result.counts().get(YEAR).keySet()));
+    }
+
+    @Test
+    void browse_ShouldAndFacetsAndOrValuesWithinAFacet() {
+        BookFacetIndex.Result result = facetIndex.browse(Map.of(
+                GENRE, Set.of("Fantasy", "Horror"),
+                NATIONALITY, Set.of("American")), 0L, 10);
+
+        assertEquals(List.of(2L, 4L), result.ids());
+        assertEquals(2, result.total());
+    }
+
+    @Test
+    void browse_ShouldCountEachFacetAgainstTheOtherFacetsSelections() {
+        BookFacetIndex.Result result = facetIndex.browse(Map.of(
+                GENRE, Set.of("Fantasy"),
+                AVAILABLE, Set.of("true")), 0L, 10);
+
+        assertEquals(List.of(1L, 4L), result.ids());
+        assertEquals(Map.of("Fantasy", 2), result.counts().get(GENRE));
+        assertEquals(Map.of("true", 2, "false", 1), result.counts().get(AVAILABLE));
+        assertEquals(Map.of("British", 1, "American", 1), result.counts().get(NATIONALITY));
+    }
+
+    @Test
+    void browse_ShouldPageAfterTheGivenId() {
+        BookFacetIndex.Result first = facetIndex.browse(Map.of(GENRE, Set.of("Fantasy")), 0L, 2);
+        BookFacetIndex.Result second = facetIndex.browse(Map.of(GENRE, Set.of("Fantasy")), 3L, 2);
+
+        assertEquals(List.of(1L, 3L), first.ids());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(4L), second.ids());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void browse_ShouldCountAcrossWordBoundaries() {
+        facetIndex.add(book(64L, "Horror", 1954, true, "British"));
+        facetIndex.add(book(200L, "Fantasy", 1954, true, "American"));
+
+        BookFacetIndex.Result result = facetIndex.browse(Map.of(AVAILABLE, Set.of("true")), 3L, 10);
+
+        assertEquals(List.of(4L, 64L, 200L), result.ids());
+        assertEquals(4, result.total());
+        assertEquals(Map.of("Fantasy", 3, "Horror", 1), result.counts().get(GENRE));
+        assertEquals(Map.of("1954", 2, "1937", 1, "1977", 1), result.counts().get(YEAR));
+    }
+
+    @Test
+    void remove_ShouldDropTheBookFromEveryFacet() {
+        facetIndex.remove(book(2L, "Horror", 1977, false, "American"));
+
+        BookFacetIndex.Result result = facetIndex.browse(Map.of(), 0L, 10);
+
+        assertEquals(3, result.total());
+        assertFalse(result.counts().get(GENRE).containsKey("Horror"));
+        assertEquals(Map.of("1977", 1, "1937", 1, "1954", 1), result.counts().get(YEAR));
+    }
+
+    private static Book book(Long id, String genre, int year, boolean available, String nationality) {
+        Author author = new Author();
+        author.setId(id);
+        author.setNationality(nationality);
+        Book book = new Book();
+        book.setId(id);
+        book.setGenre(genre);
+        book.setPublicationDate(Date.from(LocalDate.of(year, 6, 1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        book.setAvailable(available);
+        book.setAuthor(author);
+        return book;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.LibraryManagementSystem.search;
+
+import com.example.LibraryManagementSystem.config.SearchProperties;
+import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.repo.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookAvailabilityIndex availabilityIndex;
+
+    private BookFacetIndex facetIndex;
+
+    private CompletionIndex completionIndex;
+
+    private IsbnIndex isbnIndex;
+
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        availabilityIndex = new BookAvailabilityIndex();
+        facetIndex = new BookFacetIndex();
+        completionIndex = new CompletionIndex(new SimpleMeterRegistry());
+        isbnIndex = new IsbnIndex();
+        bookSearchIndex = new BookSearchIndex(bookRepository, availabilityIndex, facetIndex, completionIndex, isbnIndex,
+                new SearchProperties(0.45, 1000, 2));
+    }
+
+    @Test
+    void rebuild_ShouldIndexAllBooksFromRepository() {
+        bookSearchIndex.index(book(9L, "Gone Before The Rebuild", "Nobody", "9780345391803"));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any(Limit.class))).thenReturn(List.of(
+                book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"),
+                book(2L, "The Shining", "Stephen King", "9780385121681")));
+
+        bookSearchIndex.rebuild();
+
+        assertEquals(2, bookSearchIndex.size());
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchByTitle("hobbit")));
+        assertTrue(bookSearchIndex.searchByTitle("gone").isEmpty());
+        assertEquals(List.of(9L), availabilityIndex.lookup(List.of(9L)).unknown());
+        assertEquals(2, facetIndex.browse(Map.of(), 0L, 10).total());
+        verify(bookRepository, times(1)).findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesMadeWhileItReadsTheBooks() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(Long.MIN_VALUE), any(Limit.class))).thenAnswer(invocation -> {
+            // Searches are still served from the old index, and writes keep landing while the rebuild reads.
+            assertEquals(List.of(1L), ids(bookSearchIndex.searchByTitle("hobbit")));
+            bookSearchIndex.index(book(3L, "Norwegian Wood", "Haruki Murakami", "9780375704024"));
+            bookSearchIndex.remove(1L);
+            return List.of(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        });
+
+        bookSearchIndex.rebuild();
+
+        assertTrue(bookSearchIndex.searchByTitle("hobbit").isEmpty());
+        assertEquals(List.of(3L), ids(bookSearchIndex.searchByTitle("wood")));
+        assertEquals(List.of(1L), availabilityIndex.lookup(List.of(1L, 3L)).unknown());
+        assertEquals(Map.of("9780375704024", List.of(3L)), isbnIndex.find(List.of("9780375704024")));
+        assertEquals(List.of("Norwegian Wood"), completionIndex.completeTitle("no", 10));
+    }
+
+    @Test
+    void searchByTitle_ShouldMatchSubstringsIgnoringCase() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        bookSearchIndex.index(book(2L, "The Shining", "Stephen King", "9780385121681"));
+        bookSearchIndex.index(book(3L, "Norwegian Wood", "Haruki Murakami", "9780375704024"));
+
+        assertEquals(List.of(1L, 2L), ids(bookSearchIndex.searchByTitle("THE")));
+        assertEquals(List.of(2L), ids(bookSearchIndex.searchByTitle("hinin")));
+        assertEquals(List.of(3L), ids(bookSearchIndex.searchByTitle("w")));
+        assertTrue(bookSearchIndex.searchByTitle("").isEmpty());
+        assertTrue(bookSearchIndex.searchByTitle("  ").isEmpty());
+        assertTrue(bookSearchIndex.searchByTitle("hobbits").isEmpty());
+    }
+
+    @Test
+    void searchByTitle_ShouldReturnTheLowestIdsUpToTheLimit() {
+        bookSearchIndex.index(book(4L, "The Stand", "Stephen King", "9780385121682"));
+        bookSearchIndex.index(book(2L, "The Shining", "Stephen King", "9780385121681"));
+        bookSearchIndex.index(book(3L, "Norwegian Wood", "Haruki Murakami", "9780375704024"));
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+
+        assertEquals(List.of(1L, 2L), ids(bookSearchIndex.searchByTitle("the")));
+        bookSearchIndex.remove(1L);
+        assertEquals(List.of(2L, 4L), ids(bookSearchIndex.searchByTitle("the")));
+    }
+
+    @Test
+    void searchByTitle_ShouldNotMatchWhenGramsAreNotContiguous() {
+        bookSearchIndex.index(book(1L, "abcxbcd", "Author", "1"));
+
+        assertTrue(bookSearchIndex.searchByTitle("abcd").isEmpty());
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchByTitle("xbcd")));
+    }
+
+    @Test
+    void searchByAuthorAndIsbn_ShouldUseTheirOwnFields() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        bookSearchIndex.index(book(2L, "The Shining", "Stephen King", "9780385121681"));
+
+        assertEquals(List.of(2L), ids(bookSearchIndex.searchByAuthor("king")));
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchByIsbn("0345")));
+        assertTrue(bookSearchIndex.searchByAuthor("hobbit").isEmpty());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersionOfBook() {
+        bookSearchIndex.index(book(1L, "Old Title", "Author", "1"));
+        bookSearchIndex.index(book(1L, "New Title", "Author", "1"));
+
+        assertTrue(bookSearchIndex.searchByTitle("old").isEmpty());
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchByTitle("new")));
+        assertEquals(1, bookSearchIndex.size());
+    }
+
+    @Test
+    void remove_ShouldDropBookFromAllFields() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+
+        bookSearchIndex.remove(1L);
+
+        assertTrue(bookSearchIndex.searchByTitle("hobbit").isEmpty());
+        assertTrue(bookSearchIndex.searchByAuthor("tolkien").isEmpty());
+        assertTrue(bookSearchIndex.searchByIsbn("978").isEmpty());
+        assertEquals(0, bookSearchIndex.size());
+    }
+
+    @Test
+    void updateAvailability_ShouldReplaceDocumentWithoutTouchingPostings() {
+        Book original = book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683");
+        original.setAvailable(true);
+        bookSearchIndex.index(original);
+        Book served = bookSearchIndex.searchByTitle("hobbit").get(0);
+
+        bookSearchIndex.updateAvailability(1L, false);
+        bookSearchIndex.updateAvailability(2L, false);
+
+        assertFalse(bookSearchIndex.searchByTitle("hobbit").get(0).getAvailable());
+        assertTrue(served.getAvailable());
+        assertEquals(1, bookSearchIndex.size());
+        assertEquals(List.of(1L), availabilityIndex.lookup(List.of(1L)).unavailable());
+        assertEquals(List.of(2L), availabilityIndex.lookup(List.of(2L)).unknown());
+        assertEquals(Map.of("false", 1), facetIndex.browse(Map.of(), 0L, 10).counts().get(BookFacetIndex.Facet.AVAILABLE));
+    }
+
+    @Test
+    void reindexAuthor_ShouldUpdateAuthorNameOfAllTheirBooks() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        Author renamed = new Author();
+        renamed.setId(1L);
+        renamed.setName("John Ronald Reuel Tolkien");
+
+        Book served = bookSearchIndex.searchByTitle("hobbit").get(0);
+
+        bookSearchIndex.reindexAuthor(renamed);
+
+        assertEquals("J.R.R. Tolkien", served.getAuthor().getName());
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchByAuthor("ronald")));
+        assertTrue(bookSearchIndex.searchByAuthor("j.r.r").isEmpty());
+    }
+
+    @Test
+    void removeAuthor_ShouldDropAllTheirBooks() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+
+        bookSearchIndex.removeAuthor(1L);
+
+        assertEquals(0, bookSearchIndex.size());
+        assertEquals(0, availabilityIndex.size());
+    }
+
+    @Test
+    void searchFuzzy_ShouldTolerateTyposAndRankClosestFirst() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        bookSearchIndex.index(book(2L, "Harry Potter and the Philosopher's Stone", "J.K. Rowling", "9780747532699"));
+        bookSearchIndex.index(book(3L, "Harry Potter and the Chamber of Secrets", "J.K. Rowling", "9780747538493"));
+        bookSearchIndex.index(book(4L, "The Shining", "Stephen King", "9780385121681"));
+
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchFuzzy("Tolkein", 10)));
+        assertEquals(List.of(2L, 3L), ids(bookSearchIndex.searchFuzzy("harry poter", 10)));
+        assertEquals(List.of(3L, 2L), ids(bookSearchIndex.searchFuzzy("Harry Poter chamber", 10)));
+        assertEquals(List.of(2L), ids(bookSearchIndex.searchFuzzy("harry poter", 1)));
+        assertTrue(bookSearchIndex.searchFuzzy("Murakami", 10).isEmpty());
+    }
+
+    @Test
+    void searchFuzzy_ShouldFoldDiacritics() {
+        bookSearchIndex.index(book(1L, "Cien años de soledad", "Gabriel García Márquez", "9780307474728"));
+
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchFuzzy("Garcia Marquez", 10)));
+        assertEquals(List.of(1L), ids(bookSearchIndex.searchFuzzy("cien anos", 10)));
+    }
+
+    @Test
+    void searchFuzzy_ShouldForgetRemovedBooks() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+
+        bookSearchIndex.remove(1L);
+
+        assertTrue(bookSearchIndex.searchFuzzy("hobbit", 10).isEmpty());
+    }
+
+    @Test
+    void updateAvailability_ShouldCountCheckoutsTowardsCompletionWeight() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        bookSearchIndex.index(book(2L, "The Hitchhiker's Guide", "Douglas Adams", "9780345391803"));
+        bookSearchIndex.index(book(3L, "The Hitchhiker's Guide", "Douglas Adams", "9780345391803"));
+
+        assertEquals(List.of("The Hitchhiker's Guide", "The Hobbit"), completionIndex.completeTitle("the h", 10));
+
+        bookSearchIndex.updateAvailability(1L, false);
+        bookSearchIndex.updateAvailability(1L, true);
+        bookSearchIndex.updateAvailability(1L, false);
+
+        assertEquals(List.of("The Hobbit", "The Hitchhiker's Guide"), completionIndex.completeTitle("the h", 10));
+        assertEquals(2L, bookSearchIndex.searchByTitle("hobbit").get(0).getLoanCount());
+    }
+
+    @Test
+    void index_ShouldFileCopiesUnderTheirCanonicalIsbn() {
+        bookSearchIndex.index(book(1L, "The Hobbit", "J.R.R. Tolkien", "0345339681"));
+        bookSearchIndex.index(book(2L, "The Hobbit", "J.R.R. Tolkien", "9780345339683"));
+        bookSearchIndex.index(book(3L, "Bad Data", "Nobody", "1234"));
+
+        assertEquals(Map.of("9780345339683", List.of(1L, 2L)), isbnIndex.find(List.of("9780345339683")));
+
+        bookSearchIndex.remove(1L);
+
+        assertEquals(Map.of("9780345339683", List.of(2L)), isbnIndex.find(List.of("9780345339683")));
+    }
+
+    private static Book book(Long id, String title, String authorName, String isbn) {
+        Author author = new Author();
+        author.setId(1L);
+        author.setName(authorName);
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        return book;
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+}
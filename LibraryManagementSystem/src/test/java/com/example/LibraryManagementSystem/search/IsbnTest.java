@@ -0,0 +1,31 @@
+package com.example.LibraryManagementSystem.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsbnTest {
+
+    @Test
+    void canonical_ShouldMapEveryFormOfAnIsbnToTheSameIsbn13() {
+        assertEquals("9780345339683", Isbn.canonical("9780345339683"));
+        assertEquals("9780345339683", Isbn.canonical("978-0-345-33968-3"));
+        assertEquals("9780345339683", Isbn.canonical("0345339681"));
+        assertEquals("9780345339683", Isbn.canonical("0 345 33968 1"));
+    }
+
+    @Test
+    void canonical_ShouldAcceptXCheckDigitOnIsbn10() {
+        assertEquals("9780804429573", Isbn.canonical("0-8044-2957-x"));
+    }
+
+    @Test
+    void canonical_ShouldRejectBadCheckDigitsAndMalformedValues() {
+        assertNull(Isbn.canonical("0345339682"));
+        assertNull(Isbn.canonical("9780345339684"));
+        assertNull(Isbn.canonical("97803453396"));
+        assertNull(Isbn.canonical("978034533968X"));
+        assertNull(Isbn.canonical("X345339681"));
+        assertNull(Isbn.canonical(null));
+    }
+}
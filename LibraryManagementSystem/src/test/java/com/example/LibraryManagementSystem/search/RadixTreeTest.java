@@ -0,0 +1,85 @@
+package com.example.LibraryManagementSystem.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTreeTest {
+
+    private RadixTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new RadixTree();
+        tree.adjust("the hobbit", "The Hobbit", 5);
+        tree.adjust("the shining", "The Shining", 3);
+        tree.adjust("the hobbit, part two", "The Hobbit, Part Two", 1);
+        tree.adjust("harry potter", "Harry Potter", 9);
+    }
+
+    @Test
+    void complete_ShouldReturnHeaviestCompletionsOfPrefixFirst() {
+        assertEquals(List.of("The Hobbit", "The Shining", "The Hobbit, Part Two"), tree.complete("the", 10));
+        assertEquals(List.of("Harry Potter", "The Hobbit"), tree.complete("", 2));
+        assertEquals(List.of("The Hobbit", "The Hobbit, Part Two"), tree.complete("the hob", 10));
+        assertTrue(tree.complete("the hobbits", 10).isEmpty());
+        assertTrue(tree.complete("x", 10).isEmpty());
+    }
+
+    @Test
+    void complete_ShouldMatchPrefixEndingInsideAnEdge() {
+        assertEquals(List.of("Harry Potter"), tree.complete("harry po", 10));
+    }
+
+    @Test
+    void adjust_ShouldReorderByUpdatedWeight() {
+        tree.adjust("the hobbit, part two", "The Hobbit, Part Two", 10);
+
+        assertEquals(List.of("The Hobbit, Part Two", "The Hobbit"), tree.complete("the hob", 10));
+    }
+
+    @Test
+    void adjust_ShouldRemoveKeyAndCompactOnceWeightReachesZero() {
+        int nodes = tree.nodes();
+
+        tree.adjust("the hobbit, part two", "The Hobbit, Part Two", -1);
+        tree.adjust("the shining", "The Shining", -3);
+
+        assertEquals(List.of("The Hobbit"), tree.complete("the", 10));
+        assertEquals(2, tree.size());
+        assertTrue(tree.nodes() < nodes);
+    }
+
+    @Test
+    void adjust_ShouldIgnoreRemovalOfUnknownKeys() {
+        int nodes = tree.nodes();
+
+        tree.adjust("the hobbit returns", "The Hobbit Returns", -1);
+        tree.adjust("zebra", "Zebra", -1);
+
+        assertEquals(4, tree.size());
+        assertEquals(nodes, tree.nodes());
+    }
+
+    @Test
+    void complete_ShouldBreakWeightTiesAlphabetically() {
+        RadixTree ties = new RadixTree();
+        ties.adjust("b", "B", 1);
+        ties.adjust("c", "C", 1);
+        ties.adjust("a", "A", 1);
+
+        assertEquals(List.of("A", "B", "C"), ties.complete("", 10));
+    }
+
+    @Test
+    void clear_ShouldEmptyTheTree() {
+        tree.clear();
+
+        assertEquals(0, tree.size());
+        assertEquals(1, tree.nodes());
+        assertTrue(tree.complete("", 10).isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.LibraryManagementSystem.security;
+
+import com.example.LibraryManagementSystem.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    @Test
+    void verify_ShouldReturnTheCustomerOfAnIssuedToken() throws Exception {
+        TokenService tokenService = new TokenService(new AuthProperties(SECRET, Duration.ofHours(1), false));
+
+        String token = tokenService.issue(42L).token();
+
+        assertEquals(Optional.of(42L), tokenService.verify(token));
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedForeignAndMalformedTokens() throws Exception {
+        TokenService tokenService = new TokenService(new AuthProperties(SECRET, Duration.ofHours(1), false));
+        TokenService otherKey = new TokenService(new AuthProperties(null, Duration.ofHours(1), false));
+        String token = tokenService.issue(42L).token();
+
+        assertTrue(tokenService.verify("43" + token.substring(2)).isEmpty());
+        assertTrue(tokenService.verify(otherKey.issue(42L).token()).isEmpty());
+        assertTrue(tokenService.verify("42").isEmpty());
+        assertTrue(tokenService.verify("42.1.!!").isEmpty());
+        assertTrue(tokenService.verify("").isEmpty());
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredTokens() throws Exception {
+        TokenService tokenService = new TokenService(new AuthProperties(SECRET, Duration.ofSeconds(-1), false));
+
+        assertTrue(tokenService.verify(tokenService.issue(42L).token()).isEmpty());
+    }
+}
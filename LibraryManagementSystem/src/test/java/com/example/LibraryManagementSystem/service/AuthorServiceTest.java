@@ -1,13 +1,19 @@
 package com.example.LibraryManagementSystem.service;
 
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
 import com.example.LibraryManagementSystem.domain.Author;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
 import com.example.LibraryManagementSystem.repo.AuthorRepository;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -16,10 +22,14 @@ import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 class AuthorServiceTest {
@@ -27,12 +37,21 @@ class AuthorServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private ChangeEventOutbox outbox;
+
+    private ConcurrentMapCacheManager cacheManager;
+
     private AuthorService authorService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        authorService = new AuthorService(authorRepository);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.AUTHORS);
+        authorService = new AuthorService(authorRepository, bookSearchIndex, cacheManager, outbox);
     }
 
     @Test
@@ -93,7 +112,7 @@ class AuthorServiceTest {
         assertEquals("New Author", result.getName());
 
         verify(authorRepository, times(1)).save(author);
-
+        verify(outbox, times(1)).authorChanged(author, Change.CREATED);
     }
 
     @Test
@@ -143,6 +162,22 @@ class AuthorServiceTest {
         authorService.deleteAuthor(1L);
 
         verify(authorRepository, times(1)).deleteById(1L);
+        verify(outbox, times(1)).deleted(Aggregate.AUTHOR, 1L);
     }
-}
 
+    @Test
+    void getAuthorsByIds_ShouldLoadOnlyCacheMissesInOneQuery() {
+        Author cached = new Author();
+        cached.setId(1L);
+        Author loaded = new Author();
+        loaded.setId(2L);
+        cacheManager.getCache(CacheConfig.AUTHORS).put(1L, cached);
+        when(authorRepository.findAllById(anyCollection())).thenReturn(List.of(loaded));
+
+        Map<Long, Author> result = authorService.getAuthorsByIds(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, cached, 2L, loaded), result);
+        verify(authorRepository, times(1)).findAllById(Set.of(2L, 3L));
+        assertSame(loaded, cacheManager.getCache(CacheConfig.AUTHORS).get(2L, Author.class));
+    }
+}
@@ -1,22 +1,37 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CacheConfig;
 import com.example.LibraryManagementSystem.domain.Author;
 import com.example.LibraryManagementSystem.domain.Book;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
 import com.example.LibraryManagementSystem.repo.BookRepository;
 import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
+import com.example.LibraryManagementSystem.search.BookAvailabilityIndex;
+import com.example.LibraryManagementSystem.search.BookFacetIndex;
+import com.example.LibraryManagementSystem.search.BookSearchIndex;
+import com.example.LibraryManagementSystem.search.CompletionIndex;
+import com.example.LibraryManagementSystem.search.IsbnIndex;
+import com.example.LibraryManagementSystem.search.IsbnMatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,12 +48,34 @@ class BookServiceTest {
     @Mock
     private BorrowingRecordRepository borrowingRecordRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private CompletionIndex completionIndex;
+
+    @Mock
+    private IsbnIndex isbnIndex;
+
+    @Mock
+    private ChangeEventOutbox outbox;
+
+    private ConcurrentMapCacheManager cacheManager;
+
     private BookService bookService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        bookService = new BookService(bookRepository, authorService, borrowingRecordRepository);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.BOOKS);
+        bookService = new BookService(bookRepository, authorService, borrowingRecordRepository, bookSearchIndex, bookAvailabilityIndex,
+                bookFacetIndex, completionIndex, isbnIndex, cacheManager, outbox);
     }
 
     @Test
@@ -59,6 +96,36 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findAll(pageable);
     }
 
+    @Test
+    void getBooksAfter_ShouldFetchOneExtraRowToDetectNextPage() {
+        Book first = new Book();
+        first.setId(4L);
+        Book second = new Book();
+        second.setId(5L);
+        Book third = new Book();
+        third.setId(6L);
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(3L, Limit.of(3))).thenReturn(List.of(first, second, third));
+
+        Slice<Book> result = bookService.getBooksAfter(3L, 2);
+        assertEquals(List.of(first, second), result.getContent());
+        assertTrue(result.hasNext());
+
+        verify(bookRepository, never()).count();
+    }
+
+    @Test
+    void getBooksAfter_ShouldReportLastPage_WhenNoExtraRow() {
+        Book only = new Book();
+        only.setId(4L);
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(3L, Limit.of(3))).thenReturn(List.of(only));
+
+        Slice<Book> result = bookService.getBooksAfter(3L, 2);
+        assertEquals(1, result.getNumberOfElements());
+        assertFalse(result.hasNext());
+    }
+
     @Test
     void getBookById_ShouldReturnBook_WhenBookExists() {
         Book book = new Book();
@@ -108,6 +175,8 @@ class BookServiceTest {
         Book capturedBook = bookCaptor.getValue();
         assertEquals("New Book", capturedBook.getTitle());
         assertEquals(author, capturedBook.getAuthor());
+        verify(bookSearchIndex, times(1)).index(book);
+        verify(outbox, times(1)).bookChanged(book, Change.CREATED);
     }
 
     @Test
@@ -187,6 +256,44 @@ class BookServiceTest {
         verify(bookRepository, never()).save(any(Book.class));
     }
 
+    @Test
+    void markAvailable_ShouldSaveBookAndUpdateSearchIndex() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setAvailable(true);
+
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+
+        Book result = bookService.markAvailable(1L, false);
+        assertFalse(result.getAvailable());
+        assertEquals(1L, result.getLoanCount());
+
+        verify(bookRepository, times(1)).save(book);
+        verify(bookSearchIndex, times(1)).updateAvailability(1L, false);
+    }
+
+    @Test
+    void markAllAvailable_ShouldSaveBooksInOneCall_AndEvictThemFromCache() {
+        Book first = new Book();
+        first.setId(1L);
+        first.setAvailable(true);
+        Book second = new Book();
+        second.setId(2L);
+        second.setAvailable(true);
+        cacheManager.getCache(CacheConfig.BOOKS).put(1L, first);
+
+        bookService.markAllAvailable(List.of(first, second), false);
+
+        assertFalse(first.getAvailable());
+        assertEquals(1L, second.getLoanCount());
+        assertNull(cacheManager.getCache(CacheConfig.BOOKS).get(1L));
+        verify(bookRepository, times(1)).saveAll(List.of(first, second));
+        verify(bookRepository, never()).save(any(Book.class));
+        verify(bookSearchIndex, times(1)).updateAvailability(1L, false);
+        verify(bookSearchIndex, times(1)).updateAvailability(2L, false);
+    }
+
     @Test
     void deleteBook_ShouldThrowException_WhenBookIsBorrowed() {
         Long bookId = 1L;
@@ -194,6 +301,7 @@ class BookServiceTest {
 
         assertThrows(RuntimeException.class, () -> bookService.deleteBook(bookId));
         verify(bookRepository, never()).deleteById(bookId);
+        verify(bookSearchIndex, never()).remove(bookId);
     }
 
     @Test
@@ -203,6 +311,8 @@ class BookServiceTest {
 
         bookService.deleteBook(bookId);
         verify(bookRepository, times(1)).deleteById(bookId);
+        verify(bookSearchIndex, times(1)).remove(bookId);
+        verify(outbox, times(1)).deleted(Aggregate.BOOK, bookId);
     }
 
     @Test
@@ -211,14 +321,14 @@ class BookServiceTest {
         book.setId(1L);
         book.setTitle("Test Book");
 
-        when(bookRepository.findByTitleContainingIgnoreCase("Test")).thenReturn(Collections.singletonList(book));
+        when(bookSearchIndex.searchByTitle("Test")).thenReturn(Collections.singletonList(book));
 
         List<Book> result = bookService.searchBooksByTitle("Test");
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Book", result.get(0).getTitle());
 
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("Test");
+        verify(bookSearchIndex, times(1)).searchByTitle("Test");
     }
 
     @Test
@@ -227,14 +337,14 @@ class BookServiceTest {
         book.setId(1L);
         book.setTitle("Test Book");
 
-        when(bookRepository.findByAuthorNameContainingIgnoreCase("Author")).thenReturn(Collections.singletonList(book));
+        when(bookSearchIndex.searchByAuthor("Author")).thenReturn(Collections.singletonList(book));
 
         List<Book> result = bookService.searchBooksByAuthor("Author");
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Book", result.get(0).getTitle());
 
-        verify(bookRepository, times(1)).findByAuthorNameContainingIgnoreCase("Author");
+        verify(bookSearchIndex, times(1)).searchByAuthor("Author");
     }
 
     @Test
@@ -243,13 +353,53 @@ class BookServiceTest {
         book.setId(1L);
         book.setTitle("Test Book");
 
-        when(bookRepository.findByIsbnContaining("123456789")).thenReturn(Collections.singletonList(book));
+        when(bookSearchIndex.searchByIsbn("123456789")).thenReturn(Collections.singletonList(book));
 
         List<Book> result = bookService.searchBooksByIsbn("123456789");
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Book", result.get(0).getTitle());
 
-        verify(bookRepository, times(1)).findByIsbnContaining("123456789");
+        verify(bookSearchIndex, times(1)).searchByIsbn("123456789");
+    }
+
+    @Test
+    void findBooksByIsbn_ShouldNormalizeQueriesAndKeepTheirOrder() {
+        Book book = new Book();
+        book.setId(1L);
+        when(isbnIndex.find(Set.of("9780345339683"))).thenReturn(Map.of("9780345339683", List.of(1L)));
+        when(bookSearchIndex.findAll(List.of(1L))).thenReturn(List.of(book));
+
+        List<IsbnMatch> matches = bookService.findBooksByIsbn(List.of("0-345-33968-1", "not-an-isbn", "978-0-345-33968-3"));
+
+        assertEquals(3, matches.size());
+        assertEquals(new IsbnMatch("0-345-33968-1", "9780345339683", List.of(book)), matches.get(0));
+        assertEquals(new IsbnMatch("not-an-isbn", null, List.of()), matches.get(1));
+        assertEquals("9780345339683", matches.get(2).isbn());
+    }
+
+    @Test
+    void getBooksByIds_ShouldServeCachedBooksWithoutQuerying() {
+        Book cached = new Book();
+        cached.setId(1L);
+        cacheManager.getCache(CacheConfig.BOOKS).put(1L, cached);
+
+        Map<Long, Book> result = bookService.getBooksByIds(List.of(1L));
+
+        assertEquals(Map.of(1L, cached), result);
+        verify(bookRepository, never()).findByIdIn(any());
+    }
+
+    @Test
+    void getBooksByIds_ShouldLoadMissesWithOneQueryAndCacheThem() {
+        Book loaded = new Book();
+        loaded.setId(2L);
+        when(bookRepository.findByIdIn(Set.of(2L, 3L))).thenReturn(List.of(loaded));
+
+        Map<Long, Book> result = bookService.getBooksByIds(List.of(2L, 3L, 2L));
+
+        assertEquals(Map.of(2L, loaded), result);
+        verify(bookRepository, times(1)).findByIdIn(any());
+        assertSame(loaded, cacheManager.getCache(CacheConfig.BOOKS).get(2L, Book.class));
     }
 }
@@ -1,8 +1,13 @@
 package com.example.LibraryManagementSystem.service;
 
+import com.example.LibraryManagementSystem.config.CheckoutProperties;
 import com.example.LibraryManagementSystem.domain.Book;
 import com.example.LibraryManagementSystem.domain.BorrowingRecord;
 import com.example.LibraryManagementSystem.domain.Customer;
+import com.example.LibraryManagementSystem.exception.CheckoutConflictException;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Aggregate;
+import com.example.LibraryManagementSystem.outbox.ChangeEvent.Change;
+import com.example.LibraryManagementSystem.outbox.ChangeEventOutbox;
 import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,13 +18,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -34,12 +45,22 @@ class BorrowingRecordServiceTest {
     @Mock
     private CustomerService customerService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ChangeEventOutbox outbox;
+
+    @Mock
+    private OverdueLoanService overdueLoanService;
+
     private BorrowingRecordService borrowingRecordService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        borrowingRecordService = new BorrowingRecordService(borrowingRecordRepository, customerService, bookService);
+        borrowingRecordService = new BorrowingRecordService(borrowingRecordRepository, customerService, bookService,
+                transactionManager, new CheckoutProperties(16, Duration.ofDays(14), 50), outbox, overdueLoanService);
     }
 
     @Test
@@ -105,6 +126,7 @@ class BorrowingRecordServiceTest {
         BorrowingRecord capturedRecord = recordCaptor.getValue();
         assertEquals(customer, capturedRecord.getCustomer());
         assertEquals(book, capturedRecord.getBook());
+        verify(outbox, times(1)).loanChanged(record, Change.CREATED);
     }
 
     @Test
@@ -124,6 +146,80 @@ class BorrowingRecordServiceTest {
         verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
     }
 
+    @Test
+    void createBorrowingRecord_ShouldMarkBookUnavailable_WhenLoanIsOpen() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setAvailable(true);
+        BorrowingRecord record = new BorrowingRecord();
+
+        when(customerService.getCustomerById(1L)).thenReturn(new Customer());
+        when(bookService.getBookById(1L)).thenReturn(book);
+        when(borrowingRecordRepository.save(any(BorrowingRecord.class))).thenReturn(record);
+
+        BorrowingRecord result = borrowingRecordService.createBorrowingRecord(1L, 1L, record);
+        assertNotNull(result.getBorrowDate());
+        assertEquals(result.getBorrowDate().getTime() + Duration.ofDays(14).toMillis(), result.getDueDate().getTime());
+
+        verify(bookService, times(1)).markAvailable(1L, false);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void createBorrowingRecord_ShouldThrowConflict_WhenBookIsAlreadyBorrowed() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setAvailable(false);
+
+        when(customerService.getCustomerById(1L)).thenReturn(new Customer());
+        when(bookService.getBookById(1L)).thenReturn(book);
+
+        assertThrows(CheckoutConflictException.class, () -> borrowingRecordService.createBorrowingRecord(1L, 1L, new BorrowingRecord()));
+
+        book.setAvailable(true);
+        when(borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(1L)).thenReturn(true);
+
+        assertThrows(CheckoutConflictException.class, () -> borrowingRecordService.createBorrowingRecord(1L, 1L, new BorrowingRecord()));
+
+        verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
+        verify(bookService, never()).markAvailable(anyLong(), anyBoolean());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void returnBorrowingRecord_ShouldSetReturnDateAndMarkBookAvailable() {
+        Book book = new Book();
+        book.setId(1L);
+        BorrowingRecord record = new BorrowingRecord();
+        record.setId(1L);
+        record.setBook(book);
+
+        when(borrowingRecordRepository.findById(1L)).thenReturn(Optional.of(record));
+        when(borrowingRecordRepository.save(record)).thenReturn(record);
+
+        BorrowingRecord result = borrowingRecordService.returnBorrowingRecord(1L);
+        assertNotNull(result.getReturnDate());
+
+        verify(bookService, times(1)).markAvailable(1L, true);
+    }
+
+    @Test
+    void returnBorrowingRecord_ShouldThrowConflict_WhenAlreadyReturned() {
+        Book book = new Book();
+        book.setId(1L);
+        BorrowingRecord record = new BorrowingRecord();
+        record.setId(1L);
+        record.setBook(book);
+        record.setReturnDate(new Date());
+
+        when(borrowingRecordRepository.findById(1L)).thenReturn(Optional.of(record));
+
+        assertThrows(CheckoutConflictException.class, () -> borrowingRecordService.returnBorrowingRecord(1L));
+        assertThrows(RuntimeException.class, () -> borrowingRecordService.returnBorrowingRecord(2L));
+
+        verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
+    }
+
     @Test
     void updateBorrowingRecord_ShouldReturnUpdatedRecord_WhenCustomerBookAndRecordExist() {
         Customer customer = new Customer();
@@ -178,6 +274,50 @@ class BorrowingRecordServiceTest {
         verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
     }
 
+    @Test
+    void updateBorrowingRecord_ShouldFreeTheBook_WhenReturnDateIsSet() {
+        Book book = new Book();
+        book.setId(1L);
+        BorrowingRecord openRecord = new BorrowingRecord();
+        openRecord.setId(1L);
+        openRecord.setBook(book);
+        BorrowingRecord updatedDetails = new BorrowingRecord();
+        updatedDetails.setBorrowDate(new Date());
+        updatedDetails.setReturnDate(new Date());
+
+        when(customerService.getCustomerById(1L)).thenReturn(new Customer());
+        when(bookService.getBookById(1L)).thenReturn(book);
+        when(borrowingRecordRepository.findById(1L)).thenReturn(Optional.of(openRecord));
+        when(borrowingRecordRepository.save(any(BorrowingRecord.class))).thenReturn(openRecord);
+
+        borrowingRecordService.updateBorrowingRecord(1L, 1L, 1L, updatedDetails);
+
+        verify(bookService, times(1)).markAvailable(1L, true);
+        verify(bookService, never()).markAvailable(1L, false);
+    }
+
+    @Test
+    void updateBorrowingRecord_ShouldThrowConflict_WhenOpenLoanMovesToBorrowedBook() {
+        Book current = new Book();
+        current.setId(1L);
+        Book borrowed = new Book();
+        borrowed.setId(2L);
+        borrowed.setAvailable(false);
+        BorrowingRecord openRecord = new BorrowingRecord();
+        openRecord.setId(1L);
+        openRecord.setBook(current);
+
+        when(customerService.getCustomerById(1L)).thenReturn(new Customer());
+        when(bookService.getBookById(2L)).thenReturn(borrowed);
+        when(borrowingRecordRepository.findById(1L)).thenReturn(Optional.of(openRecord));
+
+        assertThrows(CheckoutConflictException.class,
+                () -> borrowingRecordService.updateBorrowingRecord(1L, 1L, 2L, new BorrowingRecord()));
+
+        verify(bookService, never()).markAvailable(anyLong(), anyBoolean());
+        verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
+    }
+
     @Test
     void deleteBorrowingRecord_ShouldDeleteRecord_WhenRecordExists() {
         Long recordId = 1L;
@@ -185,6 +325,24 @@ class BorrowingRecordServiceTest {
         borrowingRecordService.deleteBorrowingRecord(recordId);
 
         verify(borrowingRecordRepository, times(1)).deleteById(recordId);
+        verify(outbox, never()).deleted(any(), any());
+    }
+
+    @Test
+    void deleteBorrowingRecord_ShouldMarkBookAvailable_WhenLoanIsOpen() {
+        Book book = new Book();
+        book.setId(1L);
+        BorrowingRecord record = new BorrowingRecord();
+        record.setId(1L);
+        record.setBook(book);
+
+        when(borrowingRecordRepository.findById(1L)).thenReturn(Optional.of(record));
+
+        borrowingRecordService.deleteBorrowingRecord(1L);
+
+        verify(bookService, times(1)).markAvailable(1L, true);
+        verify(borrowingRecordRepository, times(1)).deleteById(1L);
+        verify(outbox, times(1)).deleted(Aggregate.LOAN, 1L);
     }
 
     @Test
@@ -216,4 +374,69 @@ class BorrowingRecordServiceTest {
 
         verify(borrowingRecordRepository, times(1)).findByBookId(1L);
     }
+
+    @Test
+    void checkoutBasket_ShouldLendAvailableBooksInOneBatch_AndReportTheRest() {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        Book free = new Book();
+        free.setId(1L);
+        free.setAvailable(true);
+        Book onLoan = new Book();
+        onLoan.setId(2L);
+        onLoan.setAvailable(true);
+
+        when(customerService.getCustomerById(1L)).thenReturn(customer);
+        when(bookService.getBooksForUpdate(List.of(1L, 2L, 3L, 1L))).thenReturn(Map.of(1L, free, 2L, onLoan));
+        when(borrowingRecordRepository.findOpenLoanBookIds(anyCollection())).thenReturn(List.of(2L));
+
+        List<LoanResult> results = borrowingRecordService.checkoutBasket(1L, List.of(1L, 2L, 3L, 1L));
+
+        assertEquals(List.of(LoanResult.Status.OK, LoanResult.Status.CONFLICT, LoanResult.Status.NOT_FOUND, LoanResult.Status.CONFLICT),
+                results.stream().map(LoanResult::status).toList());
+        BorrowingRecord loan = results.get(0).record();
+        assertEquals(customer, loan.getCustomer());
+        assertEquals(free, loan.getBook());
+        assertEquals(loan.getBorrowDate().getTime() + Duration.ofDays(14).toMillis(), loan.getDueDate().getTime());
+
+        verify(customerService, times(1)).getCustomerById(1L);
+        verify(bookService, times(1)).markAllAvailable(List.of(free), false);
+        verify(borrowingRecordRepository, times(1)).saveAll(List.of(loan));
+        verify(borrowingRecordRepository, never()).save(any(BorrowingRecord.class));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void checkoutBasket_ShouldThrowException_WhenCustomerDoesNotExist() {
+        when(customerService.getCustomerById(1L)).thenReturn(null);
+
+        assertThrows(RuntimeException.class, () -> borrowingRecordService.checkoutBasket(1L, List.of(1L, 2L)));
+
+        verify(bookService, never()).markAllAvailable(anyCollection(), anyBoolean());
+        verify(borrowingRecordRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void returnBasket_ShouldCloseOpenLoans_AndReportTheRest() {
+        Book book = new Book();
+        book.setId(1L);
+        BorrowingRecord open = new BorrowingRecord();
+        open.setId(1L);
+        open.setBook(book);
+        BorrowingRecord closed = new BorrowingRecord();
+        closed.setId(2L);
+        closed.setBook(book);
+        closed.setReturnDate(new Date());
+
+        when(borrowingRecordRepository.findByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(open, closed));
+
+        List<LoanResult> results = borrowingRecordService.returnBasket(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(LoanResult.Status.OK, LoanResult.Status.CONFLICT, LoanResult.Status.NOT_FOUND),
+                results.stream().map(LoanResult::status).toList());
+        assertNotNull(open.getReturnDate());
+
+        verify(bookService, times(1)).markAllAvailable(List.of(book), true);
+        verify(borrowingRecordRepository, times(1)).saveAll(List.of(open));
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.exception.CheckoutConflictException;
+import com.example.LibraryManagementSystem.repo.BookRepository;
+import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:checkout-test")
+class CheckoutConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void concurrentCheckoutsOfSameBook_ShouldOpenExactlyOneLoan() throws Exception {
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(i -> {
+            try {
+                borrowingRecordService.createBorrowingRecord(1L + i % 10, 1L, new BorrowingRecord());
+                borrowed.incrementAndGet();
+            } catch (CheckoutConflictException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, borrowed.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertTrue(borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(1L));
+        assertFalse(bookRepository.findById(1L).orElseThrow().getAvailable());
+
+        BorrowingRecord loan = borrowingRecordRepository.findByBookId(1L).stream()
+                .filter(record -> record.getReturnDate() == null)
+                .findFirst().orElseThrow();
+        borrowingRecordService.returnBorrowingRecord(loan.getId());
+
+        assertFalse(borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(1L));
+        assertTrue(bookRepository.findById(1L).orElseThrow().getAvailable());
+        assertThrows(CheckoutConflictException.class, () -> borrowingRecordService.returnBorrowingRecord(loan.getId()));
+    }
+
+    @Test
+    void concurrentCheckoutsOfDistinctBooks_ShouldAllSucceed() throws Exception {
+        AtomicInteger borrowed = new AtomicInteger();
+        List<Long> loans = new CopyOnWriteArrayList<>();
+
+        runConcurrently(i -> {
+            if (i < 8) {
+                loans.add(borrowingRecordService.createBorrowingRecord(1L + i, 2L + i, new BorrowingRecord()).getId());
+                borrowed.incrementAndGet();
+            }
+        });
+
+        assertEquals(8, borrowed.get());
+        loans.forEach(borrowingRecordService::returnBorrowingRecord);
+        for (long bookId = 2; bookId < 10; bookId++) {
+            assertTrue(bookRepository.findById(bookId).orElseThrow().getAvailable());
+        }
+    }
+
+    @Test
+    void concurrentOverlappingBaskets_ShouldLendEachBookOnceWithoutDeadlock() throws Exception {
+        List<LoanResult> results = new CopyOnWriteArrayList<>();
+
+        runConcurrently(i -> results.addAll(borrowingRecordService.checkoutBasket(1L + i % 10,
+                i % 2 == 0 ? List.of(2L, 3L, 4L) : List.of(4L, 3L, 2L))));
+
+        List<LoanResult> loans = results.stream().filter(result -> result.status() == LoanResult.Status.OK).toList();
+        assertEquals(3, loans.size());
+        assertEquals(3 * THREADS - 3, results.stream().filter(result -> result.status() == LoanResult.Status.CONFLICT).count());
+        for (long bookId = 2; bookId <= 4; bookId++) {
+            assertFalse(bookRepository.findById(bookId).orElseThrow().getAvailable());
+        }
+
+        List<Long> recordIds = loans.stream().map(result -> result.record().getId()).toList();
+        List<LoanResult> returns = borrowingRecordService.returnBasket(recordIds);
+
+        assertTrue(returns.stream().allMatch(result -> result.status() == LoanResult.Status.OK));
+        for (long bookId = 2; bookId <= 4; bookId++) {
+            assertTrue(bookRepository.findById(bookId).orElseThrow().getAvailable());
+            assertFalse(borrowingRecordRepository.existsByBookIdAndReturnDateIsNull(bookId));
+        }
+    }
+
+    private static void runConcurrently(IntConsumerTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface IntConsumerTask {
+        void run(int index);
+    }
+}
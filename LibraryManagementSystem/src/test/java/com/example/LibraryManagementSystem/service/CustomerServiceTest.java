@@ -11,9 +11,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,14 +28,14 @@ class CustomerServiceTest {
     private CustomerRepository customerRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     private CustomerService customerService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        customerService = new CustomerService(customerRepository, passwordEncoder);
+        customerService = new CustomerService(customerRepository, passwordHasher);
     }
 
     @Test
@@ -87,7 +88,7 @@ class CustomerServiceTest {
         customer.setName("New Customer");
         customer.setPassword("password");
 
-        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+        when(passwordHasher.hash("password")).thenReturn("encodedPassword");
         when(customerRepository.save(any(Customer.class))).thenReturn(customer);
 
         Customer result = customerService.createCustomer(customer);
@@ -113,7 +114,7 @@ class CustomerServiceTest {
         updatedCustomer.setPassword("newPassword");
 
         when(customerRepository.findById(1L)).thenReturn(Optional.of(existingCustomer));
-        when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
+        when(passwordHasher.hash("newPassword")).thenReturn("encodedNewPassword");
         when(customerRepository.save(any(Customer.class))).thenReturn(existingCustomer);
 
         Customer result = customerService.updateCustomer(1L, updatedCustomer);
@@ -150,4 +151,13 @@ class CustomerServiceTest {
 
         verify(customerRepository, times(1)).deleteById(customerId);
     }
+
+    @Test
+    void getCustomersByIds_ShouldIndexResultsById() {
+        Customer customer = new Customer();
+        customer.setId(4L);
+        when(customerRepository.findAllById(List.of(4L, 5L))).thenReturn(List.of(customer));
+
+        assertEquals(Map.of(4L, customer), customerService.getCustomersByIds(List.of(4L, 5L)));
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.domain.BorrowingRecord;
+import com.example.LibraryManagementSystem.repo.BorrowingRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:overdue-test", "library.overdue.batch-size=2"})
+class OverdueLoanServiceTest {
+
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Test
+    void scan_ShouldFlagEachNewlyOverdueLoanOnce() {
+        LocalDate today = LocalDate.now();
+        List<Long> late = new ArrayList<>();
+        for (long bookId = 1; bookId <= 5; bookId++) {
+            late.add(borrow(bookId, today.minusDays(20 + bookId)).getId());
+        }
+        Long current = borrow(6L, today).getId();
+        Long returned = borrow(7L, today.minusDays(30)).getId();
+        borrowingRecordService.returnBorrowingRecord(returned);
+
+        assertEquals(5, overdueLoanService.scan(date(today)));
+        late.forEach(id -> assertTrue(borrowingRecordRepository.findById(id).orElseThrow().isOverdue()));
+        assertFalse(borrowingRecordRepository.findById(current).orElseThrow().isOverdue());
+        assertFalse(borrowingRecordRepository.findById(returned).orElseThrow().isOverdue());
+
+        assertEquals(0, overdueLoanService.scan(date(today)));
+
+        assertEquals(1, overdueLoanService.scan(date(today.plusDays(30))));
+        assertTrue(borrowingRecordRepository.findById(current).orElseThrow().isOverdue());
+    }
+
+    @Test
+    void scan_ShouldFlagLoansDatedBehindTheWatermark() {
+        LocalDate today = LocalDate.now();
+        Long redated = borrow(9L, today.plusDays(20)).getId();
+        overdueLoanService.scan(date(today.plusDays(30)));
+
+        Long backdated = borrow(8L, today.minusDays(40)).getId();
+        assertEquals(1, overdueLoanService.scan(date(today.plusDays(30))));
+        assertTrue(borrowingRecordRepository.findById(backdated).orElseThrow().isOverdue());
+
+        BorrowingRecord details = new BorrowingRecord();
+        details.setBorrowDate(date(today.minusDays(40)));
+        borrowingRecordService.updateBorrowingRecord(redated, 1L, 9L, details);
+        assertEquals(1, overdueLoanService.scan(date(today.plusDays(30))));
+        assertTrue(borrowingRecordRepository.findById(redated).orElseThrow().isOverdue());
+    }
+
+    private BorrowingRecord borrow(Long bookId, LocalDate borrowDate) {
+        BorrowingRecord record = new BorrowingRecord();
+        record.setBorrowDate(date(borrowDate));
+        return borrowingRecordService.createBorrowingRecord(1L, bookId, record);
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
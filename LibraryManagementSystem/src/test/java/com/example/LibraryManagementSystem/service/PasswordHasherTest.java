@@ -0,0 +1,109 @@
+package com.example.LibraryManagementSystem.service;
+
+import com.example.LibraryManagementSystem.config.PasswordHashingProperties;
+import com.example.LibraryManagementSystem.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hashAll_ShouldKeepInputOrderAndSkipMissingPasswords() {
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        passwordHasher = new PasswordHasher(encoder, new PasswordHashingProperties(4, 2, 1, Duration.ofSeconds(10), 1), meterRegistry);
+
+        List<String> hashes = passwordHasher.hashAll(Arrays.asList("a", "b", null, "c", "d"));
+
+        assertEquals(5, hashes.size());
+        assertTrue(encoder.matches("a", hashes.get(0)));
+        assertTrue(encoder.matches("b", hashes.get(1)));
+        assertNull(hashes.get(2));
+        assertTrue(encoder.matches("c", hashes.get(3)));
+        assertTrue(encoder.matches("d", hashes.get(4)));
+        assertTrue(encoder.matches("e", passwordHasher.hash("e")));
+        assertTrue(meterRegistry.get("executor").tag("name", "password-hashing").timer().count() > 0);
+    }
+
+    @Test
+    void hashAll_ShouldLeaveRoomForInteractiveCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash-" + invocation.getArgument(0);
+        });
+        passwordHasher = new PasswordHasher(encoder, new PasswordHashingProperties(4, 1, 1, Duration.ofSeconds(10), 1), meterRegistry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> batch = callers.submit(() -> passwordHasher.hashAll(List.of("a", "b", "c", "d")));
+            started.await();
+            Future<String> interactive = callers.submit(() -> passwordHasher.hash("e"));
+            while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertEquals("hash-e", interactive.get(10, TimeUnit.SECONDS));
+            assertEquals(List.of("hash-a", "hash-b", "hash-c", "hash-d"), batch.get(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void hash_ShouldRejectWhenTheQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        passwordHasher = new PasswordHasher(encoder, new PasswordHashingProperties(4, 1, 1, Duration.ofSeconds(10), 1), meterRegistry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> passwordHasher.hash("running"));
+            started.await();
+            callers.submit(() -> passwordHasher.hash("queued"));
+            while (meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(PasswordHashingBusyException.class, () -> passwordHasher.hash("rejected"));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+}